@@ -0,0 +1,92 @@
+package news_benchmarks;
+
+import article_parser.Article;
+import article_parser.FullArticle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures Article.equals and Article.hashCode, alone and as used by a HashSet when deduplicating.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ArticleEqualityBenchmark {
+    @Param({"10000"})
+    public int articleCount;
+
+    private List<Article> articles;
+    private List<Article> copies;
+
+    @Setup
+    public void setup() {
+        articles = BenchmarkSupport.defaultGenerator().articles(articleCount);
+        copies = new ArrayList<>(articleCount);
+        for (Article article : articles) {
+            FullArticle full = (FullArticle) article;
+            copies.add(new FullArticle(full.getSource(), copy(full.getAuthor()), copy(full.getTitle()),
+                    copy(full.getDescription()), copy(full.getUrl()), copy(full.getPublishedAt()),
+                    copy(full.getUrlToImage()), copy(full.getContent())));
+        }
+    }
+
+    private static String copy(String value) {
+        return value == null ? null : new String(value.toCharArray());
+    }
+
+    @Benchmark
+    public int hashCodes() {
+        int sum = 0;
+        for (Article article : copies) {
+            sum += article.hashCode();
+        }
+        return sum;
+    }
+
+    @Benchmark
+    public int equalPairs() {
+        int equal = 0;
+        for (int i = 0; i < articles.size(); i++) {
+            if (articles.get(i).equals(copies.get(i))) {
+                equal++;
+            }
+        }
+        return equal;
+    }
+
+    @Benchmark
+    public int unequalNeighbours() {
+        int equal = 0;
+        for (int i = 1; i < articles.size(); i++) {
+            if (articles.get(i - 1).equals(copies.get(i))) {
+                equal++;
+            }
+        }
+        return equal;
+    }
+
+    @Benchmark
+    public Set<Article> deduplicate() {
+        Set<Article> unique = new HashSet<>(articles);
+        unique.addAll(copies);
+        return unique;
+    }
+}
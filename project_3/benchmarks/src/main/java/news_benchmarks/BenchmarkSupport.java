@@ -0,0 +1,38 @@
+package news_benchmarks;
+
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Shared setup for the benchmarks.
+ */
+final class BenchmarkSupport {
+    /** The seed every benchmark corpus is generated from, so runs compare like with like. */
+    static final long SEED = 42;
+
+    private BenchmarkSupport() {
+    }
+
+    /**
+     * Returns a logger that discards everything, so warnings about skipped articles do not end up in the
+     * measurement.
+     *
+     * @return the quiet logger
+     */
+    static Logger quietLogger() {
+        Logger logger = Logger.getLogger("news_benchmarks.quiet");
+        logger.setUseParentHandlers(false);
+        logger.setLevel(Level.OFF);
+        return logger;
+    }
+
+    /**
+     * Returns a generator with the default mix of imperfect entries: 10% of articles miss a field, 5% carry extra
+     * fields and 1% are malformed.
+     *
+     * @return the generator
+     */
+    static CorpusGenerator defaultGenerator() {
+        return new CorpusGenerator(SEED, 0.1, 0.05, 0.01);
+    }
+}
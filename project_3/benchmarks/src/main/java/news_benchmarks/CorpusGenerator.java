@@ -0,0 +1,379 @@
+package news_benchmarks;
+
+import article_parser.Article;
+import article_parser.FullArticle;
+import article_parser.NewsFormat;
+import article_parser.Source;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.StringWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Generates synthetic NewsAPI corpora for benchmarks. Articles are built from a fixed vocabulary, source list and
+ * date range, so a given seed always produces the same corpus, and look like real NewsAPI responses in field sizes
+ * and shape. A configurable share of articles has missing or null fields, carries extra fields the parser has to
+ * skip, or is malformed in a way the parser isolates and records as an ArticleError.
+ *
+ * <p>Corpora are written incrementally, so sizes from kilobytes to gigabytes only need memory for one article.
+ * From the command line:
+ * <pre>
+ * java -cp target/benchmarks.jar news_benchmarks.CorpusGenerator &lt;out[.gz]&gt; &lt;size[k|m|g]&gt; [NEWS_API|JSON_LINES]
+ *      [seed] [missingFieldRate] [extraFieldRate] [malformedRate]
+ * </pre>
+ */
+public final class CorpusGenerator {
+    private static final String[][] SOURCES = {
+            {"cnn", "CNN", "www.cnn.com"},
+            {"bbc-news", "BBC News", "www.bbc.co.uk"},
+            {"reuters", "Reuters", "www.reuters.com"},
+            {"the-verge", "The Verge", "www.theverge.com"},
+            {"associated-press", "Associated Press", "apnews.com"},
+            {"bloomberg", "Bloomberg", "www.bloomberg.com"},
+            {"techcrunch", "TechCrunch", "techcrunch.com"},
+            {"the-washington-post", "The Washington Post", "www.washingtonpost.com"},
+            {null, "Yahoo Entertainment", "www.yahoo.com"},
+            {null, "NPR", "www.npr.org"},
+            {null, "Fox Business", "www.foxbusiness.com"},
+            {null, "Le Monde", "www.lemonde.fr"},
+    };
+    private static final String[] FIRST_NAMES = {
+            "Julia", "Ralph", "Maria", "Chen", "Aisha", "Tom\u00e1s", "Olga", "James", "Priya", "Kenji", "Fatima", "Lukas",
+    };
+    private static final String[] LAST_NAMES = {
+            "Hollingsworth", "Ellis", "Garc\u00eda", "Wei", "Okafor", "Novak", "Smith", "Patel", "Tanaka", "M\u00fcller", "Haddad",
+    };
+    private static final String[] WORDS = (
+            "the a of to in and for on with as at by from says after over new more than year government people " +
+            "officials report president market police vaccine election court company shares climate city health " +
+            "state world data energy prices week deal crisis plan study workers rise fall talks support record " +
+            "million billion first second could would amid during against under while about into \"quoted\" " +
+            "coronavirus pandemic economy inflation technology launch security investigation minister council " +
+            "r\u00e9sum\u00e9 na\u00efve caf\u00e9 S\u00e3o Z\u00fcrich \u6771\u4eac \u20ac").split(" ");
+    private static final long START_EPOCH_SECOND = Instant.parse("2021-01-01T00:00:00Z").getEpochSecond();
+    private static final long DATE_RANGE_SECONDS = 3L * 365 * 24 * 3600;
+    private static final DateTimeFormatter PATH_DATE = DateTimeFormatter.ofPattern("yyyy/MM/dd").withZone(ZoneOffset.UTC);
+
+    private final SplittableRandom random;
+    private final double missingFieldRate;
+    private final double extraFieldRate;
+    private final double malformedRate;
+    private final StringBuilder article = new StringBuilder(2048);
+
+    /**
+     * Constructs a CorpusGenerator.
+     *
+     * @param seed             the seed; equal seeds and rates produce identical corpora
+     * @param missingFieldRate the share of articles with one field missing or null
+     * @param extraFieldRate   the share of articles with fields that are not part of the NewsAPI schema
+     * @param malformedRate    the share of entries that cannot be decoded as an article
+     */
+    public CorpusGenerator(long seed, double missingFieldRate, double extraFieldRate, double malformedRate) {
+        if (!isRate(missingFieldRate) || !isRate(extraFieldRate) || !isRate(malformedRate)) {
+            throw new IllegalArgumentException("Rates must be between 0 and 1");
+        }
+        this.random = new SplittableRandom(seed);
+        this.missingFieldRate = missingFieldRate;
+        this.extraFieldRate = extraFieldRate;
+        this.malformedRate = malformedRate;
+    }
+
+    /**
+     * Writes a corpus of roughly the given size. Articles are added until the target is reached, so the result
+     * may overshoot it by up to one article.
+     *
+     * @param out         the writer to write to; it is flushed but not closed
+     * @param targetChars the approximate size of the corpus in characters
+     * @param format      NEWS_API for a single response document, JSON_LINES for one article per line
+     * @return the number of entries written, including malformed ones
+     * @throws IOException if writing fails
+     */
+    public long write(Writer out, long targetChars, NewsFormat format) throws IOException {
+        if (format != NewsFormat.NEWS_API && format != NewsFormat.JSON_LINES) {
+            throw new IllegalArgumentException("Only NEWS_API and JSON_LINES corpora can be generated, got: " + format);
+        }
+        boolean newsApi = format == NewsFormat.NEWS_API;
+        long written = 0;
+        long entries = 0;
+        if (newsApi) {
+            out.write("{\"status\":\"ok\",\"articles\":[\n");
+            written += 28;
+        }
+        while (written < targetChars) {
+            article.setLength(0);
+            if (newsApi && entries > 0) {
+                article.append(",\n");
+            }
+            appendEntry(article);
+            if (!newsApi) {
+                article.append('\n');
+            }
+            out.append(article);
+            written += article.length();
+            entries++;
+        }
+        if (newsApi) {
+            out.write("\n],\"totalResults\":" + entries + "}\n");
+        }
+        out.flush();
+        return entries;
+    }
+
+    /**
+     * Generates a corpus of roughly the given size in memory.
+     *
+     * @param targetChars the approximate size of the corpus in characters
+     * @param format      NEWS_API or JSON_LINES
+     * @return the corpus
+     */
+    public String generate(long targetChars, NewsFormat format) {
+        StringWriter out = new StringWriter((int) Math.min(Integer.MAX_VALUE - 8, targetChars + 4096));
+        try {
+            write(out, targetChars, format);
+        } catch (IOException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return out.toString();
+    }
+
+    /**
+     * Writes a corpus to a file, gzip-compressed when the file name ends in ".gz".
+     *
+     * @param file        the file to create or replace
+     * @param targetChars the approximate size of the uncompressed corpus in characters
+     * @param format      NEWS_API or JSON_LINES
+     * @return the number of entries written
+     * @throws IOException if writing fails
+     */
+    public long write(Path file, long targetChars, NewsFormat format) throws IOException {
+        try (OutputStream stream = file.toString().endsWith(".gz")
+                ? new GZIPOutputStream(Files.newOutputStream(file), 1 << 16)
+                : Files.newOutputStream(file);
+             Writer out = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8), 1 << 16)) {
+            return write(out, targetChars, format);
+        }
+    }
+
+    /**
+     * Generates article objects directly, with the same field distribution as the text corpora. Missing fields are
+     * null; extra fields and malformed entries only exist in text and are not produced.
+     *
+     * @param count the number of articles
+     * @return the articles
+     */
+    public List<Article> articles(int count) {
+        List<Article> articles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String[] source = SOURCES[random.nextInt(SOURCES.length)];
+            long epochSecond = START_EPOCH_SECOND + random.nextLong(DATE_RANGE_SECONDS);
+            String title = sentence(6, 14) + " - " + source[1];
+            String[] fields = {
+                    author(), title, sentence(15, 40), url(source[2], epochSecond, title),
+                    Instant.ofEpochSecond(epochSecond).toString(), imageUrl(source[2]), content()
+            };
+            String sourceId = source[0];
+            if (random.nextDouble() < missingFieldRate) {
+                int missing = random.nextInt(fields.length + 1);
+                if (missing == fields.length) {
+                    sourceId = null;
+                } else {
+                    fields[missing] = null;
+                }
+            }
+            articles.add(new FullArticle(new Source(sourceId, source[1]),
+                    fields[0], fields[1], fields[2], fields[3], fields[4], fields[5], fields[6]));
+        }
+        return articles;
+    }
+
+    /**
+     * Appends one corpus entry: an article, possibly with missing or extra fields, or a malformed entry.
+     *
+     * @param sb the builder to append to
+     */
+    private void appendEntry(StringBuilder sb) {
+        if (random.nextDouble() < malformedRate) {
+            appendMalformed(sb);
+            return;
+        }
+        String[] source = SOURCES[random.nextInt(SOURCES.length)];
+        long epochSecond = START_EPOCH_SECOND + random.nextLong(DATE_RANGE_SECONDS);
+        String title = sentence(6, 14) + " - " + source[1];
+        // Which field, if any, is dropped: 0-6 are the article fields, 7 is the source id.
+        int missing = random.nextDouble() < missingFieldRate ? random.nextInt(8) : -1;
+        boolean omit = random.nextBoolean();
+
+        sb.append("{\"source\":{\"id\":");
+        if (missing == 7 || source[0] == null) {
+            sb.append("null");
+        } else {
+            appendString(sb, source[0]);
+        }
+        sb.append(",\"name\":");
+        appendString(sb, source[1]);
+        sb.append('}');
+        appendField(sb, "author", author(), missing == 0, omit);
+        appendField(sb, "title", title, missing == 1, omit);
+        appendField(sb, "description", sentence(15, 40), missing == 2, omit);
+        appendField(sb, "url", url(source[2], epochSecond, title), missing == 3, omit);
+        appendField(sb, "urlToImage", imageUrl(source[2]), missing == 4, omit);
+        appendField(sb, "publishedAt", Instant.ofEpochSecond(epochSecond).toString(), missing == 5, omit);
+        appendField(sb, "content", content(), missing == 6, omit);
+        if (random.nextDouble() < extraFieldRate) {
+            sb.append(",\"sentiment\":").append(random.nextInt(2001) - 1000).append('e').append(-3);
+            sb.append(",\"tags\":[");
+            int tags = 1 + random.nextInt(4);
+            for (int i = 0; i < tags; i++) {
+                if (i > 0) {
+                    sb.append(',');
+                }
+                appendString(sb, word());
+            }
+            sb.append("],\"metadata\":{\"crawler\":{\"version\":").append(random.nextInt(10))
+                    .append(",\"region\":\"eu-west\"},\"paywalled\":").append(random.nextBoolean()).append('}');
+        }
+        sb.append('}');
+    }
+
+    /**
+     * Appends an entry the parser cannot decode as an article: valid JSON of the wrong shape, or an entry cut off
+     * mid-string, which the parser resumes past at the next line or, in a NEWS_API array, the next element boundary.
+     *
+     * @param sb the builder to append to
+     */
+    private void appendMalformed(StringBuilder sb) {
+        switch (random.nextInt(4)) {
+            case 0:
+                sb.append("{\"source\":\"").append(SOURCES[random.nextInt(SOURCES.length)][1]).append("\",\"title\":");
+                appendString(sb, sentence(6, 14));
+                sb.append('}');
+                break;
+            case 1:
+                sb.append("{\"title\":{\"text\":");
+                appendString(sb, sentence(6, 14));
+                sb.append(",\"lang\":\"en\"},\"publishedAt\":[2021,3,24]}");
+                break;
+            case 2:
+                appendString(sb, sentence(3, 8));
+                break;
+            default:
+                sb.append("{\"source\":{\"id\":\"cnn\",\"name\":\"CNN\"},\"title\":");
+                appendString(sb, sentence(6, 14));
+                sb.setLength(sb.length() - random.nextInt(1, 10));
+                break;
+        }
+    }
+
+    /**
+     * Appends a string field, or a null or omitted one when it is marked missing.
+     */
+    private static void appendField(StringBuilder sb, String name, String value, boolean missing, boolean omit) {
+        if (missing && omit) {
+            return;
+        }
+        sb.append(",\"").append(name).append("\":");
+        if (missing) {
+            sb.append("null");
+        } else {
+            appendString(sb, value);
+        }
+    }
+
+    /**
+     * Appends a JSON string literal, escaping quotes, backslashes and control characters.
+     */
+    private static void appendString(StringBuilder sb, String value) {
+        sb.append('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        sb.append('"');
+    }
+
+    private String author() {
+        String name = FIRST_NAMES[random.nextInt(FIRST_NAMES.length)] + " " + LAST_NAMES[random.nextInt(LAST_NAMES.length)];
+        return random.nextInt(4) == 0 ? "By <a href=\"/profiles/" + name.toLowerCase(Locale.ROOT).replace(' ', '-') + "\">" + name + "</a>" : name;
+    }
+
+    private String url(String host, long epochSecond, String title) {
+        String slug = title.toLowerCase(Locale.ROOT).replaceAll("[^a-z0-9]+", "-");
+        return "https://" + host + "/" + PATH_DATE.format(Instant.ofEpochSecond(epochSecond)) + "/" + slug + random.nextInt(100_000) + ".html";
+    }
+
+    private String imageUrl(String host) {
+        return "https://cdn." + host.replaceFirst("^www\\.", "") + "/assets/" + Long.toHexString(random.nextLong()) + ".jpg";
+    }
+
+    private String content() {
+        return sentence(30, 50) + "\u2026 [+" + random.nextInt(200, 12_000) + " chars]";
+    }
+
+    private String sentence(int minWords, int maxWords) {
+        int words = random.nextInt(minWords, maxWords + 1);
+        StringBuilder sb = new StringBuilder(words * 8);
+        for (int i = 0; i < words; i++) {
+            String word = word();
+            sb.append(i == 0 ? Character.toUpperCase(word.charAt(0)) + word.substring(1) : " " + word);
+        }
+        return sb.append('.').toString();
+    }
+
+    private String word() {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    private static boolean isRate(double rate) {
+        return rate >= 0 && rate <= 1;
+    }
+
+    /**
+     * Parses a size such as "512k", "64m" or "2g" into a number of characters.
+     *
+     * @param size the size, optionally suffixed with k, m or g
+     * @return the size in characters
+     */
+    static long parseSize(String size) {
+        String lower = size.trim().toLowerCase(Locale.ROOT);
+        char unit = lower.charAt(lower.length() - 1);
+        int shift = unit == 'k' ? 10 : unit == 'm' ? 20 : unit == 'g' ? 30 : 0;
+        return Long.parseLong(shift == 0 ? lower : lower.substring(0, lower.length() - 1)) << shift;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: CorpusGenerator <out[.gz]> <size[k|m|g]> [NEWS_API|JSON_LINES] [seed] " +
+                    "[missingFieldRate] [extraFieldRate] [malformedRate]");
+            System.exit(2);
+        }
+        NewsFormat format = args.length > 2 ? NewsFormat.valueOf(args[2]) : NewsFormat.NEWS_API;
+        long seed = args.length > 3 ? Long.parseLong(args[3]) : 42;
+        CorpusGenerator generator = new CorpusGenerator(seed,
+                args.length > 4 ? Double.parseDouble(args[4]) : 0.1,
+                args.length > 5 ? Double.parseDouble(args[5]) : 0.05,
+                args.length > 6 ? Double.parseDouble(args[6]) : 0.01);
+        long entries = generator.write(Paths.get(args[0]), parseSize(args[1]), format);
+        System.out.println("Wrote " + entries + " entries to " + args[0]);
+    }
+}
@@ -0,0 +1,83 @@
+package news_benchmarks;
+
+import article_parser.ArticleExporter;
+import article_parser.ArticleStorage;
+import article_parser.ColumnarArticleStorage;
+import article_parser.ExportFormat;
+import article_parser.FullArticleStorage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Measures ArticleExporter on list and columnar storage, writing to a channel that discards its input so that
+ * only encoding is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExportBenchmark {
+    @Param({"100000"})
+    public int articleCount;
+
+    @Param({"JSON_LINES", "CSV"})
+    public ExportFormat format;
+
+    @Param({"list", "columnar"})
+    public String storageKind;
+
+    private final Logger logger = BenchmarkSupport.quietLogger();
+    private final WritableByteChannel discard = new WritableByteChannel() {
+        @Override
+        public int write(ByteBuffer src) {
+            int written = src.remaining();
+            src.position(src.limit());
+            return written;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+    private ArticleStorage storage;
+    private ArticleExporter exporter;
+
+    @Setup
+    public void setup() {
+        FullArticleStorage list = new FullArticleStorage(BenchmarkSupport.defaultGenerator().articles(articleCount), articleCount, "ok");
+        if ("columnar".equals(storageKind)) {
+            ColumnarArticleStorage columns = new ColumnarArticleStorage(articleCount);
+            columns.addAll(list.getArticles(false, logger));
+            storage = columns;
+        } else {
+            storage = list;
+        }
+        exporter = new ArticleExporter(format, logger);
+    }
+
+    @Benchmark
+    public long export() {
+        return exporter.export(storage, false, discard);
+    }
+}
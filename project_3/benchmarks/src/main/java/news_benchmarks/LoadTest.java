@@ -0,0 +1,185 @@
+package news_benchmarks;
+
+import article_parser.NewsForParse;
+import article_parser.NewsFormat;
+import article_parser.NewsJsonParser;
+import article_parser.NewsSource;
+import news_accessor.NewsRequester;
+import news_accessor.QueryResult;
+import news_metrics.LatencyHistogram;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.logging.Logger;
+
+/**
+ * Drives the requester-to-parser pipeline against a StubNewsServer at a target request rate and reports throughput
+ * and latency percentiles. Each request goes through a real NewsRequester over HTTP and its body is parsed with
+ * a NewsJsonParser, so connection handling, response buffering and parsing are all part of the measurement.
+ *
+ * <p>Requests are issued open-loop: the i-th request is due at start + i / rate whether or not earlier requests
+ * have completed, and its latency is measured from that due time. Requests that queue behind slow ones therefore
+ * count their waiting time, instead of the load silently dropping while the system is slow.
+ *
+ * <p>Options are given as --name=value:
+ * <pre>
+ * --rate=200          target requests per second
+ * --duration=30       measured seconds
+ * --warmup=5          seconds run before measuring, not reported
+ * --concurrency=64    requests in flight at most; later ones wait in a queue
+ * --latency-ms=20     minimum server latency
+ * --jitter-ms=10      maximum random latency added by the server
+ * --payload=64k       size of each response body (k, m and g suffixes are accepted)
+ * --error-rate=0.01   share of requests answered with 500
+ * --throttle-rps=0    requests per second the server accepts before answering 429, 0 for no limit
+ * </pre>
+ */
+public final class LoadTest {
+    private static final Map<String, String> DEFAULTS = Map.of(
+            "rate", "200", "duration", "30", "warmup", "5", "concurrency", "64", "latency-ms", "20",
+            "jitter-ms", "10", "payload", "64k", "error-rate", "0.01", "throttle-rps", "0");
+
+    private final NewsRequester requester;
+    private final Logger logger;
+    private final LatencyHistogram latencies = new LatencyHistogram();
+    private final Map<Integer, AtomicLong> statusCounts = Collections.synchronizedMap(new HashMap<>());
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong articles = new AtomicLong();
+
+    /**
+     * Constructs a LoadTest sending its requests through the given requester.
+     *
+     * @param requester the requester under test
+     * @param logger    the logger given to the parsers
+     */
+    public LoadTest(NewsRequester requester, Logger logger) {
+        this.requester = requester;
+        this.logger = logger;
+    }
+
+    /**
+     * Issues requests at the given rate for the given time and waits for all of them to complete.
+     *
+     * @param rate        the target number of requests per second
+     * @param duration    how long to keep issuing requests
+     * @param concurrency the maximum number of requests in flight
+     * @return the wall-clock time from the first request being due to the last one completing, in nanoseconds
+     * @throws InterruptedException if interrupted while waiting for the requests
+     */
+    public long run(double rate, Duration duration, int concurrency) throws InterruptedException {
+        if (rate <= 0 || concurrency < 1) {
+            throw new IllegalArgumentException("rate must be positive and concurrency at least 1");
+        }
+        ExecutorService workers = new ThreadPoolExecutor(concurrency, concurrency, 0, TimeUnit.SECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "load-test-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long periodNanos = (long) (TimeUnit.SECONDS.toNanos(1) / rate);
+        long total = (long) (duration.toNanos() / (double) periodNanos);
+        long start = System.nanoTime();
+        for (long i = 0; i < total; i++) {
+            long due = start + i * periodNanos;
+            long wait;
+            while ((wait = due - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            String params = "everything?q=load&page=" + (i % 100 + 1);
+            workers.execute(() -> issue(params, due));
+        }
+        workers.shutdown();
+        workers.awaitTermination(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Sends one request, parses a successful response and records the latency from the request's due time.
+     *
+     * @param params the query parameters
+     * @param due    the System.nanoTime at which the request was due
+     */
+    private void issue(String params, long due) {
+        QueryResult result = requester.attemptQueries(Collections.singletonList(params), 1).get(0);
+        if (!result.isSuccess()) {
+            failures.incrementAndGet();
+        } else {
+            statusCounts.computeIfAbsent(result.getStatusCode(), status -> new AtomicLong()).incrementAndGet();
+            if (result.getStatusCode() == 200) {
+                NewsJsonParser parser = new NewsJsonParser(logger);
+                if (new NewsForParse(NewsSource.URL, NewsFormat.NEWS_API, result.getResponse()).accept(parser)) {
+                    articles.addAndGet(parser.getArticles().size());
+                } else {
+                    failures.incrementAndGet();
+                }
+            }
+        }
+        latencies.record(System.nanoTime() - due);
+    }
+
+    /**
+     * Prints the throughput, the outcome of the requests and the latency distribution of the last run.
+     *
+     * @param elapsedNanos the time the run took, as returned by run
+     */
+    public void report(long elapsedNanos) {
+        long completed = latencies.getCount();
+        double seconds = elapsedNanos / 1e9;
+        System.out.printf("Requests:    %d in %.1f s (%.1f req/s)%n", completed, seconds, completed / seconds);
+        synchronized (statusCounts) {
+            statusCounts.forEach((status, count) -> System.out.printf("  HTTP %d:    %d%n", status, count.get()));
+        }
+        System.out.printf("  failed:      %d%n", failures.get());
+        System.out.printf("Articles:    %d (%.0f/s)%n", articles.get(), articles.get() / seconds);
+        System.out.printf("Latency (ms) p50 %.2f  p99 %.2f  p999 %.2f  max %.2f  mean %.2f%n",
+                latencies.getPercentile(50) / 1e6, latencies.getPercentile(99) / 1e6,
+                latencies.getPercentile(99.9) / 1e6, latencies.getMax() / 1e6, latencies.getMean() / 1e6);
+    }
+
+    public static void main(String[] args) throws IOException, InterruptedException {
+        Map<String, String> options = new HashMap<>(DEFAULTS);
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (!arg.startsWith("--") || eq < 0 || !DEFAULTS.containsKey(arg.substring(2, eq))) {
+                System.err.println("Unknown option: " + arg + ", expected --name=value with name one of " + DEFAULTS.keySet());
+                System.exit(2);
+            }
+            options.put(arg.substring(2, eq), arg.substring(eq + 1));
+        }
+        double rate = Double.parseDouble(options.get("rate"));
+        int concurrency = Integer.parseInt(options.get("concurrency"));
+
+        Logger logger = BenchmarkSupport.quietLogger();
+        try (StubNewsServer server = new StubNewsServer(
+                TimeUnit.MILLISECONDS.toMicros(Long.parseLong(options.get("latency-ms"))),
+                TimeUnit.MILLISECONDS.toMicros(Long.parseLong(options.get("jitter-ms"))),
+                CorpusGenerator.parseSize(options.get("payload")),
+                Double.parseDouble(options.get("error-rate")),
+                Double.parseDouble(options.get("throttle-rps")),
+                BenchmarkSupport.SEED)) {
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+            NewsRequester requester = new NewsRequester(logger, client, server.getBaseUrl());
+            System.out.println("Stub NewsAPI at " + server.getBaseUrl() + ", options " + options);
+
+            long warmup = Long.parseLong(options.get("warmup"));
+            if (warmup > 0) {
+                new LoadTest(requester, logger).run(rate, Duration.ofSeconds(warmup), concurrency);
+            }
+            LoadTest test = new LoadTest(requester, logger);
+            test.report(test.run(rate, Duration.ofSeconds(Long.parseLong(options.get("duration"))), concurrency));
+        }
+    }
+}
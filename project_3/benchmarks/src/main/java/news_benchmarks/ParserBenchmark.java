@@ -0,0 +1,77 @@
+package news_benchmarks;
+
+import article_parser.Article;
+import article_parser.MappedNewsForParse;
+import article_parser.NewsForParse;
+import article_parser.NewsFormat;
+import article_parser.NewsJsonParser;
+import article_parser.NewsSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Measures NewsJsonParser.parseArticles on generated NEWS_API corpora, from an in-memory string and from a
+ * memory-mapped file with lazily decoded bodies.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParserBenchmark {
+    @Param({"65536", "4194304", "67108864"})
+    public long corpusChars;
+
+    @Param({"NEWS_API", "JSON_LINES"})
+    public NewsFormat format;
+
+    private final Logger logger = BenchmarkSupport.quietLogger();
+    private NewsForParse news;
+    private Path file;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        news = new NewsForParse(NewsSource.FILE, format, BenchmarkSupport.defaultGenerator().generate(corpusChars, format));
+        file = Files.createTempFile("parser-benchmark", ".json");
+        Files.writeString(file, news.getContent());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+    }
+
+    @Benchmark
+    public List<Article> parseString() {
+        NewsJsonParser parser = new NewsJsonParser(logger);
+        news.accept(parser);
+        return parser.getArticles();
+    }
+
+    @Benchmark
+    public List<Article> parseMappedLazy() {
+        NewsJsonParser parser = new NewsJsonParser(logger);
+        parser.setLazyBodies(true);
+        MappedNewsForParse.fromFile(file.toFile(), format, logger).accept(parser);
+        return parser.getArticles();
+    }
+}
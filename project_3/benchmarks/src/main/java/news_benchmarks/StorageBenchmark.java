@@ -0,0 +1,51 @@
+package news_benchmarks;
+
+import article_parser.Article;
+import article_parser.FullArticleStorage;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+
+/**
+ * Measures FullArticleStorage.getArticles with and without filtering out incomplete articles.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class StorageBenchmark {
+    @Param({"1000", "100000"})
+    public int articleCount;
+
+    private final Logger logger = BenchmarkSupport.quietLogger();
+    private FullArticleStorage storage;
+
+    @Setup
+    public void setup() {
+        storage = new FullArticleStorage(BenchmarkSupport.defaultGenerator().articles(articleCount), articleCount, "ok");
+    }
+
+    @Benchmark
+    public List<Article> allArticles() {
+        return storage.getArticles(false, logger);
+    }
+
+    @Benchmark
+    public List<Article> completeArticles() {
+        return storage.getArticles(true, logger);
+    }
+}
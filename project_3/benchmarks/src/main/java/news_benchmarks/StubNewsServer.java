@@ -0,0 +1,200 @@
+package news_benchmarks;
+
+import article_parser.NewsFormat;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * An in-process HTTP server that answers like the NewsAPI, for load tests that must not depend on the real service.
+ * Every request is answered after a configurable latency with one of a few pre-generated NEWS_API documents of
+ * the configured size. A configurable share of requests fails with a 500, and requests beyond the configured
+ * rate are throttled with a 429 and a Retry-After header, as the NewsAPI does when a key exceeds its quota.
+ *
+ * <p>The server listens on the loopback interface on a free port; getBaseUrl returns the URL to give a
+ * NewsRequester.
+ */
+public class StubNewsServer implements Closeable {
+    private static final int DISTINCT_BODIES = 8;
+    private static final byte[] ERROR_BODY = "{\"status\":\"error\",\"code\":\"unexpectedError\",\"message\":\"Injected failure.\"}"
+            .getBytes(StandardCharsets.UTF_8);
+    private static final byte[] THROTTLED_BODY = ("{\"status\":\"error\",\"code\":\"rateLimited\"," +
+            "\"message\":\"You have made too many requests recently.\"}").getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final byte[][] bodies;
+    private final long latencyMicros;
+    private final long jitterMicros;
+    private final double errorRate;
+    private final double throttlePermitsPerNano;
+    private final double throttleBurst;
+    private double throttleTokens;
+    private long throttleRefill;
+    private final AtomicLong served = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong throttled = new AtomicLong();
+
+    /**
+     * Starts a StubNewsServer.
+     *
+     * @param latencyMicros   the minimum time a response is held back, in microseconds
+     * @param jitterMicros    the maximum random delay added to the latency, in microseconds
+     * @param payloadChars    the approximate size of each successful response body in characters
+     * @param errorRate       the share of requests answered with a 500
+     * @param throttleRate    the number of requests per second served before answering with 429, or 0 for no limit
+     * @param seed            the seed the response bodies are generated from
+     * @throws IOException if the server cannot bind to a port
+     */
+    public StubNewsServer(long latencyMicros, long jitterMicros, long payloadChars, double errorRate,
+                          double throttleRate, long seed) throws IOException {
+        if (latencyMicros < 0 || jitterMicros < 0 || payloadChars < 0 || errorRate < 0 || errorRate > 1 || throttleRate < 0) {
+            throw new IllegalArgumentException("Latency, payload size and throttle rate must not be negative, and errorRate must be between 0 and 1");
+        }
+        this.latencyMicros = latencyMicros;
+        this.jitterMicros = jitterMicros;
+        this.errorRate = errorRate;
+        this.throttlePermitsPerNano = throttleRate / TimeUnit.SECONDS.toNanos(1);
+        this.throttleBurst = Math.max(1, throttleRate / 10);
+        this.throttleTokens = throttleBurst;
+        this.throttleRefill = System.nanoTime();
+
+        CorpusGenerator generator = new CorpusGenerator(seed, 0.1, 0.05, 0);
+        bodies = new byte[DISTINCT_BODIES][];
+        for (int i = 0; i < DISTINCT_BODIES; i++) {
+            bodies[i] = generator.generate(payloadChars, NewsFormat.NEWS_API).getBytes(StandardCharsets.UTF_8);
+        }
+
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        executor = Executors.newCachedThreadPool(runnable -> {
+            Thread thread = new Thread(runnable, "stub-news-server");
+            thread.setDaemon(true);
+            return thread;
+        });
+        server.setExecutor(executor);
+        server.createContext("/v2/", this::handle);
+        server.start();
+    }
+
+    /**
+     * Returns the base URL of the stub, in the form NewsRequester expects.
+     *
+     * @return the base URL, ending in "/v2/"
+     */
+    public String getBaseUrl() {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + "/v2/";
+    }
+
+    /**
+     * Returns the number of requests answered with a NEWS_API document.
+     *
+     * @return the number of successful responses
+     */
+    public long getServed() {
+        return served.get();
+    }
+
+    /**
+     * Returns the number of requests answered with an injected 500.
+     *
+     * @return the number of failed responses
+     */
+    public long getFailed() {
+        return failed.get();
+    }
+
+    /**
+     * Returns the number of requests answered with a 429.
+     *
+     * @return the number of throttled responses
+     */
+    public long getThrottled() {
+        return throttled.get();
+    }
+
+    /**
+     * Stops the server without waiting for responses in progress.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    /**
+     * Answers one request: throttled requests are rejected at once, the others wait for the injected latency and
+     * then get an error or a document.
+     *
+     * @param exchange the request and its response
+     * @throws IOException if the response cannot be written
+     */
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            exchange.getRequestBody().readAllBytes();
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+            if (!tryAcquireThrottlePermit()) {
+                throttled.incrementAndGet();
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                respond(exchange, 429, THROTTLED_BODY);
+                return;
+            }
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long delay = latencyMicros + (jitterMicros > 0 ? random.nextLong(jitterMicros + 1) : 0);
+            if (delay > 0) {
+                try {
+                    TimeUnit.MICROSECONDS.sleep(delay);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+            if (random.nextDouble() < errorRate) {
+                failed.incrementAndGet();
+                respond(exchange, 500, ERROR_BODY);
+            } else {
+                served.incrementAndGet();
+                respond(exchange, 200, bodies[random.nextInt(bodies.length)]);
+            }
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    /**
+     * Takes a permit from the throttling token bucket, which holds a tenth of a second's worth of requests.
+     * Unlike TokenBucketRateLimiter, a request finding the bucket empty is rejected rather than delayed.
+     *
+     * @return true if the request may be served, false if it must be throttled
+     */
+    private synchronized boolean tryAcquireThrottlePermit() {
+        if (throttlePermitsPerNano == 0) {
+            return true;
+        }
+        long now = System.nanoTime();
+        throttleTokens = Math.min(throttleBurst, throttleTokens + (now - throttleRefill) * throttlePermitsPerNano);
+        throttleRefill = now;
+        if (throttleTokens < 1) {
+            return false;
+        }
+        throttleTokens -= 1;
+        return true;
+    }
+}
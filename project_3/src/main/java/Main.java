@@ -1,8 +1,10 @@
 import article_parser.*;
 import news_accessor.NewsRequester;
+import news_metrics.NewsMetrics;
 
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
 import java.util.List;
 import java.util.logging.FileHandler;
 import java.util.logging.Logger;
@@ -32,39 +34,43 @@ public class Main {
 
     /**
      * Retrieves news content from a remote News API based on the specified search parameters.
-     * If the API request is successful, it constructs a NewsForParse object with the response.
+     * If the API request is successful, it constructs a NewsForParse object that parses the response body
+     * as it streams in, rather than waiting for the whole body first.
      *
      * @param params the parameters for querying the News API.
-     * @return a NewsForParse object with the API response, or null if the request fails.
+     * @return a NewsForParse object over the API response, or null if the request fails.
      */
     private static NewsForParse getFromNewsAPI(String params) {
         NewsRequester newsRequester = new NewsRequester(logger);
+        InputStream body = newsRequester.openQueryStream(params);
 
-        if (Boolean.TRUE.equals(newsRequester.attemptQuery(params))) {
-            return new NewsForParse(NewsSource.URL, NewsFormat.NEWS_API, newsRequester.getResponse());
+        if (body != null) {
+            return new StreamNewsForParse(NewsSource.URL, NewsFormat.NEWS_API, body, logger);
         }
 
         return null;
     }
 
     /**
-     * Reads the entire contents of a file and creates a NewsForParse object with the content.
+     * Opens a file as a NewsForParse object that parses its content directly, memory-mapping plain files and
+     * inflating gzip-compressed ones on the fly.
      *
      * @param file the file from which the news content is to be read.
      * @param format the format of the news content, e.g., JSON or XML.
-     * @return a NewsForParse object containing the content from the file.
+     * @return a NewsForParse object backed by the file, or null if the file could not be opened.
      */
     private static NewsForParse getFromFile(File file, NewsFormat format){
-        return new NewsForParse(NewsSource.FILE, format, NewsForParse.getStringFromFile(file, logger));
+        return NewsForParse.fromFile(file, format, logger);
     }
 
     /**
      * Parses articles from provided NewsForParse object and prints the resulting articles.
      * It employs a NewsJsonParser to parse the content and prints each parsed article.
      *
-     * @param news NewsForParse object containing the content to parse.
+     * @param news NewsForParse object containing the content to parse, or null if none could be retrieved.
      */
     private static void printParseResults(NewsForParse news){
+        if(news == null) return;
         NewsJsonParser parser = new NewsJsonParser(logger);
 
         if(news.accept(parser)){
@@ -83,6 +89,7 @@ public class Main {
      */
     public static void main(String[] args){
         setupLogger();
+        NewsMetrics.register(logger);
 
         System.out.println("\nArticles parsed from 'bad.json' (Proj1):");
         printParseResults(getFromFile(new File("inputs/bad.json"), NewsFormat.NEWS_API));
@@ -97,6 +104,6 @@ public class Main {
         printParseResults(getFromFile(new File("inputs/example.json"), NewsFormat.NEWS_API));
 
         System.out.println("\nArticles parsed from 'simple.json':");
-        printParseResults(getFromFile(new File("inputs/simple.json"), NewsFormat.NEWS_API));
+        printParseResults(getFromFile(new File("inputs/simple.json"), NewsFormat.SIMPLE));
     }
 }
@@ -1,5 +1,6 @@
 package article_parser;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonSubTypes;
 import com.fasterxml.jackson.annotation.JsonTypeInfo;
@@ -50,10 +51,10 @@ public class Article {
      */
     @Override
     public String toString() {
-        return "\nTitle: " + title +
-                "\n\tDescription: " + description +
-                "\n\tTime: " + publishedAt +
-                "\n\tURL: " + url;
+        return "\nTitle: " + getTitle() +
+                "\n\tDescription: " + getDescription() +
+                "\n\tTime: " + getPublishedAt() +
+                "\n\tURL: " + getUrl();
     }
 
     /**
@@ -66,10 +67,10 @@ public class Article {
     public boolean equals(Object o) {
         if (this == o) return true;
         if (!(o instanceof Article article)) return false;
-        return Objects.equals(title, article.title) &&
-                Objects.equals(description, article.description) &&
-                Objects.equals(publishedAt, article.publishedAt) &&
-                Objects.equals(url, article.url);
+        return Objects.equals(getTitle(), article.getTitle()) &&
+                Objects.equals(getDescription(), article.getDescription()) &&
+                Objects.equals(getPublishedAt(), article.getPublishedAt()) &&
+                Objects.equals(getUrl(), article.getUrl());
     }
 
     /**
@@ -79,7 +80,7 @@ public class Article {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(title, description, publishedAt, url);
+        return Objects.hash(getTitle(), getDescription(), getPublishedAt(), getUrl());
     }
 
     /**
@@ -118,12 +119,34 @@ public class Article {
         return url;
     }
 
+    /**
+     * Returns a mask of the fields that are null, with one ArticleField bit per missing field.
+     *
+     * @return the missing-field mask, 0 if every field is filled
+     */
+    @JsonIgnore
+    public int getMissingFields() {
+        return missingBit(getTitle(), ArticleField.TITLE) | missingBit(getDescription(), ArticleField.DESCRIPTION) |
+                missingBit(getPublishedAt(), ArticleField.PUBLISHED_AT) | missingBit(getUrl(), ArticleField.URL);
+    }
+
+    /**
+     * Returns the mask bit of a field if its value is null.
+     *
+     * @param value the value of the field
+     * @param field the field
+     * @return the field's mask bit if value is null, 0 otherwise
+     */
+    static int missingBit(Object value, ArticleField field) {
+        return value == null ? field.mask() : 0;
+    }
+
     /**
      * Returns a boolean that is false if any fields are null
      *
      * @return boolean that is true if there are no null fields
      */
     public boolean allFieldsFilled(){
-        return title != null && description != null && publishedAt != null && url != null;
+        return getTitle() != null && getDescription() != null && getPublishedAt() != null && getUrl() != null;
     }
 }
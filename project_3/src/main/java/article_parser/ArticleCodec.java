@@ -0,0 +1,136 @@
+package article_parser;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Encodes articles to, and decodes them from, a compact binary form. Each article starts with a kind tag that tells
+ * simple articles from full ones, followed by its fields in a fixed order. Every string is written as an int byte
+ * length followed by its UTF-8 bytes, with a length of -1 marking a missing field, so decoding needs no tokenizing.
+ * Decoding reads from a ByteBuffer, which lets callers decode straight out of memory-mapped files.
+ */
+public final class ArticleCodec {
+    private static final byte SIMPLE = 0;
+    private static final byte FULL = 1;
+    private static final byte FULL_WITHOUT_SOURCE = 2;
+    private static final int NULL_LENGTH = -1;
+
+    private ArticleCodec() {
+    }
+
+    /**
+     * Writes an article in binary form.
+     *
+     * @param article the article to write
+     * @param out     the output to write the article to
+     * @throws IOException if the output cannot be written
+     */
+    public static void write(Article article, DataOutput out) throws IOException {
+        if (article instanceof FullArticle full) {
+            Source source = full.getSource();
+            out.writeByte(source == null ? FULL_WITHOUT_SOURCE : FULL);
+            if (source != null) {
+                writeString(source.getId(), out);
+                writeString(source.getName(), out);
+            }
+            writeString(full.getAuthor(), out);
+            writeCommonFields(article, out);
+            writeString(full.getUrlToImage(), out);
+            writeString(full.getContent(), out);
+        } else {
+            out.writeByte(SIMPLE);
+            writeCommonFields(article, out);
+        }
+    }
+
+    /**
+     * Reads an article in binary form, starting at the buffer's position and leaving the position just past it.
+     * Sources are interned as they are when parsing JSON.
+     *
+     * @param in the buffer to read the article from
+     * @return the decoded Article or FullArticle
+     * @throws IllegalArgumentException            if the bytes do not hold a valid article
+     * @throws java.nio.BufferUnderflowException  if the buffer ends before the article does
+     */
+    public static Article read(ByteBuffer in) {
+        byte kind = in.get();
+        if (kind == SIMPLE) {
+            String title = readString(in);
+            String description = readString(in);
+            String publishedAt = readString(in);
+            return new Article(title, description, publishedAt, readString(in));
+        }
+        if (kind != FULL && kind != FULL_WITHOUT_SOURCE) {
+            throw new IllegalArgumentException("Unknown article kind: " + kind);
+        }
+
+        Source source = null;
+        if (kind == FULL) {
+            String id = readString(in);
+            source = Source.intern(id, readString(in));
+        }
+        String author = readString(in);
+        String title = readString(in);
+        String description = readString(in);
+        String publishedAt = readString(in);
+        String url = readString(in);
+        String urlToImage = readString(in);
+        return FullArticle.fromJson(source, author, title, description, url, publishedAt, urlToImage, readString(in));
+    }
+
+    /**
+     * Writes a nullable string as its UTF-8 byte length followed by its bytes.
+     *
+     * @param value the string to write, may be null
+     * @param out   the output to write the string to
+     * @throws IOException if the output cannot be written
+     */
+    public static void writeString(String value, DataOutput out) throws IOException {
+        if (value == null) {
+            out.writeInt(NULL_LENGTH);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    /**
+     * Reads a nullable string written by writeString.
+     *
+     * @param in the buffer to read the string from
+     * @return the decoded string, or null if a missing field was written
+     * @throws IllegalArgumentException if the recorded length is invalid for the remaining bytes
+     */
+    public static String readString(ByteBuffer in) {
+        int length = in.getInt();
+        if (length == NULL_LENGTH) return null;
+        if (length < 0 || length > in.remaining()) {
+            throw new IllegalArgumentException("Invalid string length: " + length);
+        }
+        if (in.hasArray()) {
+            String value = new String(in.array(), in.arrayOffset() + in.position(), length, StandardCharsets.UTF_8);
+            in.position(in.position() + length);
+            return value;
+        }
+        byte[] bytes = new byte[length];
+        in.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Writes the fields shared by all articles, in the order read expects them.
+     *
+     * @param article the article whose fields are written
+     * @param out     the output to write the fields to
+     * @throws IOException if the output cannot be written
+     */
+    private static void writeCommonFields(Article article, DataOutput out) throws IOException {
+        writeString(article.getTitle(), out);
+        writeString(article.getDescription(), out);
+        writeString(article.getPublishedAt(), out);
+        writeString(article.getUrl(), out);
+    }
+}
@@ -0,0 +1,248 @@
+package article_parser;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map;
+
+/**
+ * Decodes NEWS_API article objects token by token instead of through data binding, computing each article's
+ * missing-field mask as it goes. When the parser reads from a byte buffer, the description and content values
+ * are not decoded; only their offsets are recorded and a LazyFullArticle decodes them on first access.
+ * Authors are interned in a pool owned by the decoder, so articles by the same author within one document, or
+ * one JSON_LINES range, share a String without authors filling a process-wide pool.
+ * An optional ArticleFilter is applied during decoding: an article is rejected as soon as its source or a
+ * required field rules it out, the rest of its object is skipped without decoding, and no article is built.
+ */
+class ArticleDecoder {
+    private static final int ALL_FIELDS = (1 << ArticleField.values().length) - 1;
+    private static final Map<String, ArticleField> FIELD_NAMES = Map.of(
+            "source", ArticleField.SOURCE,
+            "author", ArticleField.AUTHOR,
+            "title", ArticleField.TITLE,
+            "description", ArticleField.DESCRIPTION,
+            "url", ArticleField.URL,
+            "publishedAt", ArticleField.PUBLISHED_AT,
+            "urlToImage", ArticleField.URL_TO_IMAGE,
+            "content", ArticleField.CONTENT);
+
+    private static final int AUTHOR_POOL_SIZE = 1 << 10;
+
+    private final ByteBuffer bytes;
+    private final ArticleFilter filter;
+    private final InternPool<String> authors = new InternPool<>(AUTHOR_POOL_SIZE);
+    private int rejected;
+
+    /**
+     * Constructs an ArticleDecoder.
+     *
+     * @param bytes  the UTF-8 bytes the parser reads from, starting at offset 0, or null to decode every field eagerly
+     * @param filter the filter articles must pass, or null to accept every article
+     */
+    ArticleDecoder(ByteBuffer bytes, ArticleFilter filter) {
+        this.bytes = bytes;
+        this.filter = filter;
+    }
+
+    /**
+     * Decodes the article object the parser is positioned on, leaving the parser on its END_OBJECT token.
+     *
+     * @param parser the parser positioned on the START_OBJECT token of an article
+     * @return the decoded article, a LazyFullArticle when decoding from bytes, or null if the filter rejected it
+     * @throws IOException if the content cannot be read or a field has an unexpected shape
+     */
+    FullArticle decode(JsonParser parser) throws IOException {
+        return decode(parser, 0);
+    }
+
+    /**
+     * Decodes the article object the parser is positioned on, for a parser that starts reading part way into the
+     * bytes, such as one created over a single JSON_LINES line.
+     *
+     * @param parser     the parser positioned on the START_OBJECT token of an article
+     * @param baseOffset the offset within the bytes at which the parser's input starts
+     * @return the decoded article, a LazyFullArticle when decoding from bytes, or null if the filter rejected it
+     * @throws IOException if the content cannot be read or a field has an unexpected shape
+     */
+    FullArticle decode(JsonParser parser, int baseOffset) throws IOException {
+        Source source = null;
+        String author = null;
+        String title = null;
+        String description = null;
+        String url = null;
+        String publishedAt = null;
+        String urlToImage = null;
+        String content = null;
+        int descriptionOffset = LazyFullArticle.ABSENT;
+        int contentOffset = LazyFullArticle.ABSENT;
+        int missing = ALL_FIELDS;
+        int seen = 0;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            switch (field) {
+                case "source":
+                    source = readSource(parser);
+                    missing = mark(missing, ArticleField.SOURCE,
+                            source != null && source.getId() != null && source.getName() != null);
+                    if (filter != null && !filter.acceptsSource(source)) return reject(parser);
+                    break;
+                case "author":
+                    author = authors.intern(readText(parser));
+                    missing = mark(missing, ArticleField.AUTHOR, author != null);
+                    break;
+                case "title":
+                    title = readText(parser);
+                    missing = mark(missing, ArticleField.TITLE, title != null);
+                    break;
+                case "url":
+                    url = readText(parser);
+                    missing = mark(missing, ArticleField.URL, url != null);
+                    break;
+                case "publishedAt":
+                    publishedAt = readText(parser);
+                    missing = mark(missing, ArticleField.PUBLISHED_AT, publishedAt != null);
+                    break;
+                case "urlToImage":
+                    urlToImage = readText(parser);
+                    missing = mark(missing, ArticleField.URL_TO_IMAGE, urlToImage != null);
+                    break;
+                case "description":
+                    if (bytes != null) {
+                        descriptionOffset = valueOffset(parser, baseOffset);
+                        missing = mark(missing, ArticleField.DESCRIPTION, descriptionOffset != LazyFullArticle.ABSENT);
+                    } else {
+                        description = readText(parser);
+                        missing = mark(missing, ArticleField.DESCRIPTION, description != null);
+                    }
+                    break;
+                case "content":
+                    if (bytes != null) {
+                        contentOffset = valueOffset(parser, baseOffset);
+                        missing = mark(missing, ArticleField.CONTENT, contentOffset != LazyFullArticle.ABSENT);
+                    } else {
+                        content = readText(parser);
+                        missing = mark(missing, ArticleField.CONTENT, content != null);
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+            ArticleField decoded = FIELD_NAMES.get(field);
+            if (decoded != null) seen |= decoded.mask();
+            // A required field that was read as null rules the article out, so skip the rest of it
+            if (filter != null && filter.rejectsMissing(missing & seen)) return reject(parser);
+        }
+
+        if (filter != null && !filter.accepts(missing, source)) {
+            rejected++;
+            return null;
+        }
+        if (bytes != null) {
+            return new LazyFullArticle(source, author, title, url, publishedAt, urlToImage, bytes,
+                    descriptionOffset, contentOffset, missing);
+        }
+        return new FullArticle(source, author, title, description, url, publishedAt, urlToImage, content, missing);
+    }
+
+    /**
+     * Returns the number of articles the filter has rejected so far.
+     *
+     * @return the number of rejected articles
+     */
+    int getRejected() {
+        return rejected;
+    }
+
+    /**
+     * Sets or clears the bit of a field in a missing-field mask.
+     *
+     * @param missing the mask to update
+     * @param field   the field that was read
+     * @param present whether the field was read with a value
+     * @return the updated mask
+     */
+    private static int mark(int missing, ArticleField field, boolean present) {
+        return present ? missing & ~field.mask() : missing | field.mask();
+    }
+
+    /**
+     * Skips the remaining fields of a rejected article without decoding their values, leaving the parser on the
+     * article's END_OBJECT token.
+     *
+     * @param parser the parser positioned on the last token of a field value
+     * @return null, standing for the rejected article
+     * @throws IOException if the content cannot be read
+     */
+    private FullArticle reject(JsonParser parser) throws IOException {
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            parser.nextToken();
+            parser.skipChildren();
+        }
+        rejected++;
+        return null;
+    }
+
+    /**
+     * Reads a source object, interning it like data binding does.
+     *
+     * @param parser the parser positioned on the source value
+     * @return the canonical Source, or null if the value is null
+     * @throws IOException if the value is not an object or null
+     */
+    private static Source readSource(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) return null;
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw JsonMappingException.from(parser, "Expected an object for field 'source'");
+        }
+        String id = null;
+        String name = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.getCurrentName();
+            parser.nextToken();
+            if ("id".equals(field)) {
+                id = readText(parser);
+            } else if ("name".equals(field)) {
+                name = readText(parser);
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return Source.intern(id, name);
+    }
+
+    /**
+     * Reads a scalar value as text.
+     *
+     * @param parser the parser positioned on the value
+     * @return the text of the value, or null if the value is null
+     * @throws IOException if the value is an object or array
+     */
+    private static String readText(JsonParser parser) throws IOException {
+        if (parser.currentToken().isStructStart()) {
+            throw JsonMappingException.from(parser, "Expected a scalar value for field '" + parser.getCurrentName() + "'");
+        }
+        return parser.getValueAsString();
+    }
+
+    /**
+     * Records the offset of a scalar value without decoding it.
+     *
+     * @param parser     the parser positioned on the value
+     * @param baseOffset the offset within the bytes at which the parser's input starts
+     * @return the byte offset of the value, or LazyFullArticle.ABSENT if the value is null
+     * @throws IOException if the value is an object or array
+     */
+    private static int valueOffset(JsonParser parser, int baseOffset) throws IOException {
+        JsonToken token = parser.currentToken();
+        if (token.isStructStart()) {
+            throw JsonMappingException.from(parser, "Expected a scalar value for field '" + parser.getCurrentName() + "'");
+        }
+        if (token == JsonToken.VALUE_NULL) return LazyFullArticle.ABSENT;
+        return baseOffset + (int) parser.getTokenLocation().getByteOffset();
+    }
+}
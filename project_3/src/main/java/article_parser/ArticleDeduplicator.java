@@ -0,0 +1,153 @@
+package article_parser;
+
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Removes repeated articles across an entire ingestion run, identifying articles by their normalized URL.
+ * Only a 64-bit hash of each URL is remembered, never the articles themselves, so the index stays small for
+ * millions of articles. In exact mode the hashes are kept in a compact primitive hash set, which holds up to about
+ * 644 million URLs; two URLs whose hashes collide are still taken for one. In bounded mode only a Bloom filter is
+ * kept, which caps memory up front at the cost of occasionally dropping an unseen article.
+ * Articles without a URL cannot be identified and are always kept.
+ */
+public class ArticleDeduplicator {
+    private final Logger logger;
+    private final LongHashSet seen;
+    private final BloomFilter filter;
+
+    /**
+     * Constructs an exact ArticleDeduplicator, which only drops an unseen article whose URL hash collides with that
+     * of a URL seen before. Use the bounded constructor for runs that may exceed about 644 million articles.
+     *
+     * @param expectedArticles the number of distinct articles expected during the run, used for initial sizing
+     * @param logger           the Logger used to report how many duplicates were removed
+     */
+    public ArticleDeduplicator(int expectedArticles, Logger logger) {
+        this.logger = logger;
+        this.seen = new LongHashSet(expectedArticles);
+        this.filter = null;
+    }
+
+    /**
+     * Constructs a bounded ArticleDeduplicator whose memory is fixed up front by a Bloom filter.
+     *
+     * @param expectedArticles  the number of distinct articles expected during the run
+     * @param falsePositiveRate the accepted probability that an unseen article is mistaken for a duplicate
+     * @param logger            the Logger used to report how many duplicates were removed
+     */
+    public ArticleDeduplicator(long expectedArticles, double falsePositiveRate, Logger logger) {
+        this.logger = logger;
+        this.seen = null;
+        this.filter = new BloomFilter(expectedArticles, falsePositiveRate);
+    }
+
+    /**
+     * Records an article and reports whether it is the first one seen with its URL.
+     *
+     * @param article the article to record
+     * @return true if no article with the same normalized URL was seen before, or if the article has no URL
+     * @throws IllegalStateException if an exact deduplicator has seen as many URLs as its hash set can hold
+     */
+    public synchronized boolean firstSeen(Article article) {
+        String url = article.getUrl();
+        if (url == null) return true;
+        long hash = hash(normalizeUrl(url));
+        return seen != null ? seen.add(hash) : filter.put(hash);
+    }
+
+    /**
+     * Filters a batch of articles down to those not seen before, keeping their order. Duplicates within the batch
+     * and duplicates of articles from earlier batches are both removed.
+     *
+     * @param articles the articles to filter, typically the result of NewsJsonParser.getArticles
+     * @return a new list holding the first occurrence of each article
+     */
+    public List<Article> deduplicate(List<? extends Article> articles) {
+        List<Article> unique = new ArrayList<>(articles.size());
+        for (Article article : articles) {
+            if (firstSeen(article)) {
+                unique.add(article);
+            }
+        }
+
+        int diff = articles.size() - unique.size();
+        if (diff > 0) {
+            logger.log(Level.INFO, String.format("Removed %d duplicate article(s).", diff));
+        }
+        return unique;
+    }
+
+    /**
+     * Normalizes a URL so that trivially different spellings of the same address compare equal. The scheme is
+     * ignored, the host is lower-cased without a leading "www.", default ports, fragments, utm_* tracking
+     * parameters and trailing slashes are dropped. URLs that cannot be parsed are only trimmed and lower-cased.
+     *
+     * @param url the URL to normalize
+     * @return the normalized form of the URL
+     */
+    static String normalizeUrl(String url) {
+        String trimmed = url.trim();
+        URI uri;
+        try {
+            uri = new URI(trimmed);
+        } catch (URISyntaxException ex) {
+            return trimmed.toLowerCase(Locale.ROOT);
+        }
+        if (uri.getHost() == null) {
+            return trimmed.toLowerCase(Locale.ROOT);
+        }
+
+        StringBuilder normalized = new StringBuilder(trimmed.length());
+        String host = uri.getHost().toLowerCase(Locale.ROOT);
+        normalized.append(host.startsWith("www.") ? host.substring(4) : host);
+        int port = uri.getPort();
+        if (port != -1 && port != 80 && port != 443) {
+            normalized.append(':').append(port);
+        }
+
+        String path = uri.getRawPath();
+        if (path != null) {
+            int end = path.length();
+            while (end > 0 && path.charAt(end - 1) == '/') end--;
+            normalized.append(path, 0, end);
+        }
+
+        String query = uri.getRawQuery();
+        if (query != null) {
+            char separator = '?';
+            for (String parameter : query.split("&")) {
+                if (parameter.isEmpty() || parameter.startsWith("utm_")) continue;
+                normalized.append(separator).append(parameter);
+                separator = '&';
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Computes a 64-bit FNV-1a hash of a string, followed by a final avalanche step so that all bits are usable
+     * by the hash set and the Bloom filter.
+     *
+     * @param value the string to hash
+     * @return the 64-bit hash
+     */
+    static long hash(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h ^= value.charAt(i);
+            h *= 0x100000001b3L;
+        }
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+}
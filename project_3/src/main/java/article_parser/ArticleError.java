@@ -0,0 +1,74 @@
+package article_parser;
+
+/**
+ * Describes an element of a NEWS_API articles array that could not be decoded and was skipped.
+ * The offsets locate the start of the element in the payload; which of them is known depends on whether the
+ * payload was read as bytes or as characters.
+ */
+public class ArticleError {
+    private final int index;
+    private final long byteOffset;
+    private final long charOffset;
+    private final String message;
+
+    /**
+     * Constructs an ArticleError.
+     *
+     * @param index      the index of the element within the articles array
+     * @param byteOffset the byte offset of the element, or -1 if the payload was not read as bytes
+     * @param charOffset the character offset of the element, or -1 if the payload was not read as characters
+     * @param message    a description of why the element could not be decoded
+     */
+    public ArticleError(int index, long byteOffset, long charOffset, String message) {
+        this.index = index;
+        this.byteOffset = byteOffset;
+        this.charOffset = charOffset;
+        this.message = message;
+    }
+
+    /**
+     * Returns the index of the element within the articles array.
+     *
+     * @return the zero-based element index
+     */
+    public int getIndex() {
+        return index;
+    }
+
+    /**
+     * Returns the byte offset of the start of the element.
+     *
+     * @return the byte offset, or -1 if the payload was not read as bytes
+     */
+    public long getByteOffset() {
+        return byteOffset;
+    }
+
+    /**
+     * Returns the character offset of the start of the element.
+     *
+     * @return the character offset, or -1 if the payload was not read as characters
+     */
+    public long getCharOffset() {
+        return charOffset;
+    }
+
+    /**
+     * Returns a description of why the element could not be decoded.
+     *
+     * @return the error message
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    /**
+     * Provides a string representation of the error.
+     *
+     * @return a string with the element index, offsets and message
+     */
+    @Override
+    public String toString() {
+        return String.format("Article %d (byte offset %d, char offset %d): %s", index, byteOffset, charOffset, message);
+    }
+}
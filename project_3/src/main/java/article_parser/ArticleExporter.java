@@ -0,0 +1,441 @@
+package article_parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Streams the contents of an ArticleStorage to a file or channel as JSON Lines or CSV. Fields are escaped and
+ * encoded to UTF-8 straight into one reused buffer, which is written out whenever it fills, so an export
+ * neither builds a String per article nor holds more than the buffer in memory. Articles held in a
+ * ColumnarArticleStorage are copied from their UTF-8 columns without being decoded at all.
+ *
+ * <p>JSON Lines records use the NewsAPI field names, with full articles carrying source, author, urlToImage and
+ * content and simple articles only title, description, url and publishedAt; missing fields are written as null.
+ * Full articles read back as equal articles when the output is parsed as NewsFormat.JSON_LINES; simple articles
+ * read back as FullArticle instances with a null source, author, urlToImage and content.
+ * CSV records always have every column; a missing field is an empty field and an empty string is written as "".
+ * This class is not thread-safe; an exporter may be reused for any number of exports.
+ */
+public class ArticleExporter {
+    private static final int BUFFER_BYTES = 1 << 16;
+    // The longest output of a single character: a six-byte JSON unicode escape
+    private static final int MAX_CHAR_BYTES = 6;
+
+    private static final int SOURCE_ID = 0;
+    private static final int SOURCE_NAME = 1;
+    private static final int AUTHOR = 2;
+    private static final int TITLE = 3;
+    private static final int DESCRIPTION = 4;
+    private static final int URL = 5;
+    private static final int URL_TO_IMAGE = 6;
+    private static final int PUBLISHED_AT = 7;
+    private static final int CONTENT = 8;
+    private static final int[] SIMPLE_FIELDS_AFTER_TITLE = {DESCRIPTION, URL, PUBLISHED_AT};
+
+    // The text written before each field of a full JSON record, indexed by the field constants above
+    private static final byte[][] JSON_PREFIXES = {
+            ascii("{\"source\":{\"id\":"), ascii(",\"name\":"), ascii("},\"author\":"), ascii(",\"title\":"),
+            ascii(",\"description\":"), ascii(",\"url\":"), ascii(",\"urlToImage\":"), ascii(",\"publishedAt\":"),
+            ascii(",\"content\":")
+    };
+    private static final byte[] JSON_NO_SOURCE = ascii("{\"source\":null,\"author\":");
+    private static final byte[] JSON_SIMPLE_TITLE = ascii("{\"title\":");
+    private static final byte[] JSON_NULL = ascii("null");
+    private static final byte[] JSON_END = ascii("}\n");
+    private static final byte[] CSV_HEADER =
+            ascii("source_id,source_name,author,title,description,url,url_to_image,published_at,content\r\n");
+    private static final byte[] CSV_END = ascii("\r\n");
+    private static final byte[] HEX_DIGITS = ascii("0123456789abcdef");
+
+    private final ExportFormat format;
+    private final Logger logger;
+    private final byte[] out = new byte[BUFFER_BYTES];
+    private final ByteBuffer outView = ByteBuffer.wrap(out);
+    private byte[] scratch = new byte[256];
+    private int position;
+    private WritableByteChannel channel;
+
+    /**
+     * Constructs an ArticleExporter writing the given format.
+     *
+     * @param format the format of the exported records
+     * @param logger the Logger used to log failed exports
+     */
+    public ArticleExporter(ExportFormat format, Logger logger) {
+        this.format = format;
+        this.logger = logger;
+    }
+
+    /**
+     * Exports the articles of a storage to a file, replacing any content it had.
+     *
+     * @param storage              the storage to export
+     * @param onlyCompleteArticles if true, only articles with all fields filled are exported
+     * @param file                 the file to write
+     * @return the number of articles exported, or -1 if the export failed
+     */
+    public long export(ArticleStorage storage, boolean onlyCompleteArticles, File file) {
+        try (FileChannel fileChannel = FileChannel.open(file.toPath(), StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            return export(storage, onlyCompleteArticles, fileChannel);
+        } catch (IOException ex) {
+            logger.log(Level.SEVERE, "Exception occurred while trying to open export file: ", ex);
+        }
+        return -1;
+    }
+
+    /**
+     * Exports the articles of a storage to a channel, which is left open.
+     *
+     * @param storage              the storage to export
+     * @param onlyCompleteArticles if true, only articles with all fields filled are exported
+     * @param channel              the channel to write to
+     * @return the number of articles exported, or -1 if the export failed
+     */
+    public long export(ArticleStorage storage, boolean onlyCompleteArticles, WritableByteChannel channel) {
+        this.channel = channel;
+        position = 0;
+        try {
+            if (format == ExportFormat.CSV) {
+                put(CSV_HEADER);
+            }
+            long exported = storage instanceof ColumnarArticleStorage columns
+                    ? exportColumns(columns, onlyCompleteArticles)
+                    : exportArticles(storage.getArticles(onlyCompleteArticles, logger));
+            flush();
+            return exported;
+        } catch (IOException ex) {
+            logger.log(Level.SEVERE, "Exception occurred while exporting articles: ", ex);
+        } finally {
+            this.channel = null;
+        }
+        return -1;
+    }
+
+    /**
+     * Writes a list of articles.
+     *
+     * @param articles the articles to write
+     * @return the number of articles written
+     * @throws IOException if writing to the channel fails
+     */
+    private long exportArticles(List<Article> articles) throws IOException {
+        for (Article article : articles) {
+            if (article instanceof FullArticle full) {
+                putRecord(true, full.getSource() != null, article, null, 0);
+            } else {
+                putRecord(false, false, article, null, 0);
+            }
+        }
+        return articles.size();
+    }
+
+    /**
+     * Writes the rows of a columnar storage, reading completeness and fields from the columns directly.
+     *
+     * @param columns              the storage to write
+     * @param onlyCompleteArticles if true, rows with a missing field are skipped
+     * @return the number of articles written
+     * @throws IOException if writing to the channel fails
+     */
+    private long exportColumns(ColumnarArticleStorage columns, boolean onlyCompleteArticles) throws IOException {
+        long exported = 0;
+        for (int row = 0; row < columns.size(); row++) {
+            if (onlyCompleteArticles && !columns.allFieldsFilled(row)) {
+                continue;
+            }
+            putRecord(columns.isFull(row), columns.hasSource(row), null, columns, row);
+            exported++;
+        }
+        if (exported < columns.size()) {
+            logger.log(Level.WARNING, String.format("Removed %d article(s) due to incomplete fields.", columns.size() - exported));
+        }
+        return exported;
+    }
+
+    /**
+     * Writes one record, taking its fields either from an article or from a row of a columnar storage.
+     *
+     * @param full      whether the record is a full article
+     * @param hasSource whether the full article has a source
+     * @param article   the article to write, or null to write a row of columns
+     * @param columns   the storage holding the row, used when article is null
+     * @param row       the row to write
+     * @throws IOException if writing to the channel fails
+     */
+    private void putRecord(boolean full, boolean hasSource, Article article, ColumnarArticleStorage columns, int row) throws IOException {
+        if (format == ExportFormat.CSV) {
+            for (int field = SOURCE_ID; field <= CONTENT; field++) {
+                if (field > SOURCE_ID) {
+                    put((byte) ',');
+                }
+                if (full || isArticleField(field)) {
+                    putField(field, article, columns, row);
+                }
+            }
+            put(CSV_END);
+            return;
+        }
+
+        if (!full) {
+            put(JSON_SIMPLE_TITLE);
+            putField(TITLE, article, columns, row);
+            for (int field : SIMPLE_FIELDS_AFTER_TITLE) {
+                put(JSON_PREFIXES[field]);
+                putField(field, article, columns, row);
+            }
+        } else {
+            int field = SOURCE_ID;
+            if (!hasSource) {
+                put(JSON_NO_SOURCE);
+                putField(AUTHOR, article, columns, row);
+                field = TITLE;
+            }
+            for (; field <= CONTENT; field++) {
+                put(JSON_PREFIXES[field]);
+                putField(field, article, columns, row);
+            }
+        }
+        put(JSON_END);
+    }
+
+    /**
+     * Returns whether a field is one of the fields every article has.
+     */
+    private static boolean isArticleField(int field) {
+        return field == TITLE || field == DESCRIPTION || field == URL || field == PUBLISHED_AT;
+    }
+
+    /**
+     * Writes the value of one field of a record, escaped for the export format.
+     */
+    private void putField(int field, Article article, ColumnarArticleStorage columns, int row) throws IOException {
+        if (article == null) {
+            Utf8Column column = column(columns, field);
+            if (column.isNull(row)) {
+                putNull();
+            } else {
+                putText(column, row);
+            }
+            return;
+        }
+        String value = value(article, field);
+        if (value == null) {
+            putNull();
+        } else {
+            putText(value);
+        }
+    }
+
+    private static String value(Article article, int field) {
+        switch (field) {
+            case TITLE: return article.getTitle();
+            case DESCRIPTION: return article.getDescription();
+            case URL: return article.getUrl();
+            case PUBLISHED_AT: return article.getPublishedAt();
+            default: break;
+        }
+        FullArticle full = (FullArticle) article;
+        switch (field) {
+            case SOURCE_ID: return full.getSource() == null ? null : full.getSource().getId();
+            case SOURCE_NAME: return full.getSource() == null ? null : full.getSource().getName();
+            case AUTHOR: return full.getAuthor();
+            case URL_TO_IMAGE: return full.getUrlToImage();
+            default: return full.getContent();
+        }
+    }
+
+    private static Utf8Column column(ColumnarArticleStorage columns, int field) {
+        switch (field) {
+            case SOURCE_ID: return columns.sourceIdColumn();
+            case SOURCE_NAME: return columns.sourceNameColumn();
+            case AUTHOR: return columns.column(ArticleField.AUTHOR);
+            case TITLE: return columns.column(ArticleField.TITLE);
+            case DESCRIPTION: return columns.column(ArticleField.DESCRIPTION);
+            case URL: return columns.column(ArticleField.URL);
+            case URL_TO_IMAGE: return columns.column(ArticleField.URL_TO_IMAGE);
+            case PUBLISHED_AT: return columns.column(ArticleField.PUBLISHED_AT);
+            default: return columns.column(ArticleField.CONTENT);
+        }
+    }
+
+    private void putNull() throws IOException {
+        if (format == ExportFormat.JSON_LINES) {
+            put(JSON_NULL);
+        }
+    }
+
+    /**
+     * Writes a string as an escaped, quoted value, encoding it to UTF-8 one character at a time. An unpaired
+     * surrogate is written as '?', as String.getBytes does. CSV values are only quoted when they contain a
+     * separator, quote or line break, or are empty.
+     *
+     * @param value the value to write
+     * @throws IOException if writing to the channel fails
+     */
+    private void putText(String value) throws IOException {
+        boolean json = format == ExportFormat.JSON_LINES;
+        boolean quoted = json || value.isEmpty() || needsCsvQuotes(value);
+        if (quoted) {
+            put((byte) '"');
+        }
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            if (position > out.length - MAX_CHAR_BYTES) {
+                flush();
+            }
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                putAscii((byte) c, json);
+            } else if (c < 0x800) {
+                out[position++] = (byte) (0xC0 | c >> 6);
+                out[position++] = (byte) (0x80 | c & 0x3F);
+            } else if (Character.isSurrogate(c)) {
+                if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                    int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                    out[position++] = (byte) (0xF0 | codePoint >> 18);
+                    out[position++] = (byte) (0x80 | codePoint >> 12 & 0x3F);
+                    out[position++] = (byte) (0x80 | codePoint >> 6 & 0x3F);
+                    out[position++] = (byte) (0x80 | codePoint & 0x3F);
+                } else {
+                    out[position++] = '?';
+                }
+            } else {
+                out[position++] = (byte) (0xE0 | c >> 12);
+                out[position++] = (byte) (0x80 | c >> 6 & 0x3F);
+                out[position++] = (byte) (0x80 | c & 0x3F);
+            }
+        }
+        if (quoted) {
+            put((byte) '"');
+        }
+    }
+
+    /**
+     * Writes the UTF-8 bytes of a column row as an escaped, quoted value. The row is copied out of the column in
+     * one bulk read; every byte that needs escaping is ASCII, and the bytes of multi-byte characters never are,
+     * so the bytes are escaped without decoding them.
+     *
+     * @param column the column holding the value
+     * @param row    the row of the value
+     * @throws IOException if writing to the channel fails
+     */
+    private void putText(Utf8Column column, int row) throws IOException {
+        int start = column.start(row);
+        int length = column.end(row) - start;
+        if (scratch.length < length) {
+            scratch = new byte[Math.max(length, scratch.length * 2)];
+        }
+        column.getBytes(start, scratch, length);
+
+        boolean json = format == ExportFormat.JSON_LINES;
+        boolean quoted = json || length == 0;
+        for (int i = 0; !quoted && i < length; i++) {
+            quoted = isCsvSpecial(scratch[i]);
+        }
+        if (quoted) {
+            put((byte) '"');
+        }
+        for (int i = 0; i < length; i++) {
+            if (position > out.length - MAX_CHAR_BYTES) {
+                flush();
+            }
+            byte b = scratch[i];
+            if (b < 0) {
+                out[position++] = b;
+            } else {
+                putAscii(b, json);
+            }
+        }
+        if (quoted) {
+            put((byte) '"');
+        }
+    }
+
+    /**
+     * Writes an ASCII character, escaped for the export format. The buffer must have room for MAX_CHAR_BYTES.
+     */
+    private void putAscii(byte c, boolean json) {
+        if (c >= 0x20 && c != '"' && (c != '\\' || !json)) {
+            out[position++] = c;
+        } else if (!json) {
+            if (c == '"') {
+                out[position++] = '"';
+            }
+            out[position++] = c;
+        } else if (c == '"' || c == '\\') {
+            out[position++] = '\\';
+            out[position++] = c;
+        } else if (c == '\n') {
+            out[position++] = '\\';
+            out[position++] = 'n';
+        } else if (c == '\r') {
+            out[position++] = '\\';
+            out[position++] = 'r';
+        } else if (c == '\t') {
+            out[position++] = '\\';
+            out[position++] = 't';
+        } else {
+            out[position++] = '\\';
+            out[position++] = 'u';
+            out[position++] = '0';
+            out[position++] = '0';
+            out[position++] = HEX_DIGITS[c >> 4];
+            out[position++] = HEX_DIGITS[c & 0xF];
+        }
+    }
+
+    private static boolean needsCsvQuotes(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80 && isCsvSpecial((byte) c)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isCsvSpecial(byte c) {
+        return c == ',' || c == '"' || c == '\n' || c == '\r';
+    }
+
+    private void put(byte b) throws IOException {
+        if (position == out.length) {
+            flush();
+        }
+        out[position++] = b;
+    }
+
+    private void put(byte[] bytes) throws IOException {
+        if (position > out.length - bytes.length) {
+            flush();
+        }
+        System.arraycopy(bytes, 0, out, position, bytes.length);
+        position += bytes.length;
+    }
+
+    /**
+     * Writes the buffered bytes to the channel and empties the buffer.
+     *
+     * @throws IOException if writing to the channel fails
+     */
+    private void flush() throws IOException {
+        ByteBuffer pending = outView.clear().limit(position);
+        while (pending.hasRemaining()) {
+            channel.write(pending);
+        }
+        position = 0;
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+}
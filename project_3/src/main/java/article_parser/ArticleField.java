@@ -0,0 +1,21 @@
+package article_parser;
+
+public enum ArticleField {
+    SOURCE,
+    AUTHOR,
+    TITLE,
+    DESCRIPTION,
+    URL,
+    PUBLISHED_AT,
+    URL_TO_IMAGE,
+    CONTENT;
+
+    /**
+     * Returns the bit that stands for this field in a missing-field mask.
+     *
+     * @return the mask bit of this field
+     */
+    public int mask() {
+        return 1 << ordinal();
+    }
+}
@@ -0,0 +1,71 @@
+package article_parser;
+
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * A predicate on articles that NewsJsonParser applies while decoding, so that rejected articles are skipped
+ * without being built. An article is accepted when none of the required fields is missing and, if a set of
+ * source ids is given, its source id is one of them. Source and required-field checks run as soon as the
+ * deciding field is read, and the rest of a rejected article is skipped without decoding its values.
+ */
+public class ArticleFilter {
+    private final int requiredFields;
+    private final Set<String> sourceIds;
+
+    /**
+     * Constructs an ArticleFilter.
+     *
+     * @param requiredFields the fields that must be present; the source counts as present only with both an id and a name
+     * @param sourceIds      the accepted source ids, or null to accept any source
+     */
+    public ArticleFilter(Set<ArticleField> requiredFields, Set<String> sourceIds) {
+        int mask = 0;
+        for (ArticleField field : requiredFields) {
+            mask |= field.mask();
+        }
+        this.requiredFields = mask;
+        this.sourceIds = sourceIds == null ? null : new HashSet<>(sourceIds);
+    }
+
+    /**
+     * Creates a filter that accepts only articles with every field filled, matching getArticles(true).
+     *
+     * @return a filter requiring all fields
+     */
+    public static ArticleFilter completeArticles() {
+        return new ArticleFilter(EnumSet.allOf(ArticleField.class), null);
+    }
+
+    /**
+     * Returns whether an article with the given missing fields and source is accepted.
+     *
+     * @param missingFields the missing-field mask of the article
+     * @param source        the source of the article, may be null
+     * @return true if the article passes the filter
+     */
+    public boolean accepts(int missingFields, Source source) {
+        return !rejectsMissing(missingFields) && acceptsSource(source);
+    }
+
+    /**
+     * Returns whether any required field is in a missing-field mask.
+     *
+     * @param missingFields the missing-field mask to check
+     * @return true if a required field is missing
+     */
+    boolean rejectsMissing(int missingFields) {
+        return (missingFields & requiredFields) != 0;
+    }
+
+    /**
+     * Returns whether an article's source passes the source id check.
+     *
+     * @param source the source of the article, may be null
+     * @return true if no source ids were given or the source id is one of them
+     */
+    boolean acceptsSource(Source source) {
+        return sourceIds == null || (source != null && sourceIds.contains(source.getId()));
+    }
+}
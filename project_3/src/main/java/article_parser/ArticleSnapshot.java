@@ -0,0 +1,159 @@
+package article_parser;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Writes parsed articles to a versioned binary snapshot file and loads them back without re-parsing any JSON.
+ * A snapshot holds a header (magic number and format version), the status and totalResults of the storage when
+ * it carries them, the article count, every article encoded by ArticleCodec, and a trailing CRC32 of everything
+ * before it. Snapshots are written to a temporary file and moved into place, so a reader never sees a partial one,
+ * and are loaded by memory-mapping the file.
+ */
+public class ArticleSnapshot {
+    static final int MAGIC = 0x4E575353;
+    static final short VERSION = 1;
+
+    private ArticleSnapshot() {
+    }
+
+    /**
+     * Writes every article in the storage, complete or not, to a snapshot file, replacing any existing file.
+     * The status and totalResults are recorded when the storage is a FullArticleStorage.
+     *
+     * @param storage the storage whose articles are written
+     * @param file    the snapshot file to write
+     * @param logger  Logger to log any exceptions occurring while writing the file
+     * @return true if the snapshot was written, false otherwise
+     */
+    public static boolean write(ArticleStorage storage, File file, Logger logger) {
+        List<Article> articles = storage.getArticles(false, logger);
+        String status = null;
+        Integer totalResults = null;
+        if (storage instanceof FullArticleStorage fullStorage) {
+            status = fullStorage.getStatus();
+            totalResults = fullStorage.getTotalResults();
+        }
+
+        Path target = file.toPath().toAbsolutePath();
+        Path temp = null;
+        try {
+            temp = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+            CRC32 crc = new CRC32();
+            try (OutputStream fileOut = Files.newOutputStream(temp);
+                 DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new CheckedOutputStream(fileOut, crc), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeShort(VERSION);
+                ArticleCodec.writeString(status, out);
+                out.writeBoolean(totalResults != null);
+                out.writeInt(totalResults == null ? 0 : totalResults);
+                out.writeInt(articles.size());
+                for (Article article : articles) {
+                    ArticleCodec.write(article, out);
+                }
+                out.flush();
+                out.writeLong(crc.getValue());
+            }
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            return true;
+        } catch (IOException ex) {
+            logger.log(Level.SEVERE, "Exception occurred while writing snapshot: ", ex);
+            if (temp != null) {
+                try {
+                    Files.deleteIfExists(temp);
+                } catch (IOException ignored) {
+                    // The temporary file is left behind; it is never read as a snapshot
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Loads a snapshot file by memory-mapping it and decoding its articles. The checksum is verified before any
+     * article is decoded.
+     *
+     * @param file   the snapshot file to load
+     * @param logger Logger to log any exceptions occurring while loading the file
+     * @return a FullArticleStorage holding the snapshot's articles, status and totalResults, or null if the file
+     *         could not be read or is not a valid snapshot
+     */
+    public static FullArticleStorage load(File file, Logger logger) {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                logger.log(Level.SEVERE, String.format("Snapshot %s is too large to be mapped (%d bytes).", file, size));
+                return null;
+            }
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+        } catch (IOException ex) {
+            logger.log(Level.SEVERE, "Exception occurred while trying to map snapshot: ", ex);
+            return null;
+        }
+        return decode(buffer, file, logger);
+    }
+
+    /**
+     * Decodes a snapshot held in a buffer.
+     *
+     * @param buffer the buffer holding the whole snapshot
+     * @param file   the file the snapshot was read from, used in log messages
+     * @param logger Logger to log invalid snapshots
+     * @return the decoded storage, or null if the snapshot is invalid
+     */
+    private static FullArticleStorage decode(ByteBuffer buffer, File file, Logger logger) {
+        try {
+            if (buffer.getInt() != MAGIC) {
+                logger.log(Level.WARNING, String.format("File %s is not an article snapshot.", file));
+                return null;
+            }
+            short version = buffer.getShort();
+            if (version != VERSION) {
+                logger.log(Level.WARNING, String.format("Snapshot %s has unsupported version %d.", file, version));
+                return null;
+            }
+
+            int bodyEnd = buffer.limit() - Long.BYTES;
+            CRC32 crc = new CRC32();
+            crc.update(buffer.duplicate().position(0).limit(bodyEnd));
+            if (crc.getValue() != buffer.getLong(bodyEnd)) {
+                logger.log(Level.WARNING, String.format("Snapshot %s failed its checksum.", file));
+                return null;
+            }
+
+            buffer.limit(bodyEnd);
+            String status = ArticleCodec.readString(buffer);
+            boolean hasTotalResults = buffer.get() != 0;
+            int totalResults = buffer.getInt();
+            int count = buffer.getInt();
+            if (count < 0 || count > buffer.remaining()) {
+                throw new IllegalArgumentException("Invalid article count: " + count);
+            }
+            List<Article> articles = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                articles.add(ArticleCodec.read(buffer));
+            }
+            return new FullArticleStorage(articles, hasTotalResults ? totalResults : null, status);
+        } catch (BufferUnderflowException | IllegalArgumentException ex) {
+            logger.log(Level.WARNING, String.format("Snapshot %s is truncated or corrupt: ", file), ex);
+        }
+        return null;
+    }
+}
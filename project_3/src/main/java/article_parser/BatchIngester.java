@@ -0,0 +1,146 @@
+package article_parser;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Parses many news files concurrently on a bounded ForkJoinPool and merges them into a single BatchResult.
+ * Each file is memory-mapped, or inflated on the fly if it is gzip-compressed, and parsed by its own
+ * NewsJsonParser; a file that cannot be read or parsed is logged and recorded as failed while the rest of the
+ * batch carries on, as with a single NewsJsonParser.
+ */
+public class BatchIngester {
+    private final Logger logger;
+    private final int parallelism;
+
+    /**
+     * Constructs a BatchIngester that uses one worker per available processor.
+     *
+     * @param logger the Logger used to log failed files
+     */
+    public BatchIngester(Logger logger) {
+        this(logger, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Constructs a BatchIngester with a bounded number of workers.
+     *
+     * @param logger      the Logger used to log failed files
+     * @param parallelism the maximum number of files parsed at the same time
+     */
+    public BatchIngester(Logger logger, int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1, got: " + parallelism);
+        }
+        this.logger = logger;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Ingests every file of a directory whose name matches a glob, e.g. "*.json". Files are processed in
+     * name order so that the merged result is the same from one run to the next.
+     *
+     * @param directory the directory containing the news files
+     * @param glob      the glob that file names must match
+     * @param format    the format of the files, or null to let the parser deduce it per file
+     * @return the merged result of the batch; empty if the directory cannot be listed
+     */
+    public BatchResult ingestDirectory(File directory, String glob, NewsFormat format) {
+        List<File> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory.toPath(), glob)) {
+            for (Path path : stream) {
+                if (Files.isRegularFile(path)) {
+                    files.add(path.toFile());
+                }
+            }
+        } catch (IOException ex) {
+            logger.log(Level.SEVERE, "Exception occurred while listing directory: ", ex);
+        }
+        Collections.sort(files);
+        return ingest(files, format);
+    }
+
+    /**
+     * Ingests a list of files concurrently.
+     *
+     * @param files  the news files to parse
+     * @param format the format of the files, or null to let the parser deduce it per file
+     * @return the merged result of the batch, with one FileResult per file in the given order
+     */
+    public BatchResult ingest(List<File> files, NewsFormat format) {
+        List<Callable<BatchResult.FileResult>> tasks = new ArrayList<>(files.size());
+        for (File file : files) {
+            tasks.add(() -> ingestFile(file, format));
+        }
+
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        List<BatchResult.FileResult> results = new ArrayList<>(files.size());
+        try {
+            List<Future<BatchResult.FileResult>> futures = pool.invokeAll(tasks);
+            for (int i = 0; i < files.size(); i++) {
+                results.add(resultOf(files.get(i), futures.get(i)));
+            }
+        } finally {
+            pool.shutdown();
+        }
+        return new BatchResult(results);
+    }
+
+    /**
+     * Waits for the result of one file's task. A task that failed with an Error, or whose result could not be
+     * awaited, is logged and recorded as a failed file, so that the batch keeps one FileResult per file.
+     *
+     * @param file   the file the task parsed
+     * @param future the completed task
+     * @return the result for the file
+     */
+    private BatchResult.FileResult resultOf(File file, Future<BatchResult.FileResult> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            logger.log(Level.WARNING, "Batch ingestion was interrupted: ", ex);
+        } catch (ExecutionException | CancellationException ex) {
+            logger.log(Level.SEVERE, "Exception occurred while ingesting file " + file + ": ", ex);
+        }
+        return failed(file);
+    }
+
+    private static BatchResult.FileResult failed(File file) {
+        return new BatchResult.FileResult(file, false, Collections.emptyList());
+    }
+
+    /**
+     * Opens and parses a single file, never throwing so that one bad file cannot abort the batch.
+     *
+     * @param file   the file to parse
+     * @param format the format of the file, or null to let the parser deduce it
+     * @return the result for the file
+     */
+    private BatchResult.FileResult ingestFile(File file, NewsFormat format) {
+        try {
+            NewsForParse news = NewsForParse.fromFile(file, format, logger);
+            NewsJsonParser parser = new NewsJsonParser(logger);
+            if (news != null && news.accept(parser)) {
+                return new BatchResult.FileResult(file, true, parser.getArticles());
+            }
+            logger.log(Level.WARNING, "Failed to ingest file: " + file);
+        } catch (RuntimeException ex) {
+            logger.log(Level.SEVERE, "Exception occurred while ingesting file " + file + ": ", ex);
+        }
+        return failed(file);
+    }
+}
@@ -0,0 +1,112 @@
+package article_parser;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Holds the merged outcome of a batch ingestion run. Results are kept per file, in the order the files were
+ * submitted, so that a failed file can be reported without losing the articles parsed from the others.
+ */
+public class BatchResult {
+    private final List<FileResult> fileResults;
+
+    /**
+     * Constructs a BatchResult from the per-file results of an ingestion run.
+     *
+     * @param fileResults the result of each file, in submission order
+     */
+    BatchResult(List<FileResult> fileResults) {
+        this.fileResults = Collections.unmodifiableList(new ArrayList<>(fileResults));
+    }
+
+    /**
+     * Returns the result of every file in the batch, in submission order.
+     *
+     * @return an unmodifiable list of per-file results
+     */
+    public List<FileResult> getFileResults() {
+        return fileResults;
+    }
+
+    /**
+     * Merges the articles of every successfully parsed file, in submission order.
+     *
+     * @return a new list containing all articles parsed in the batch
+     */
+    public List<Article> getArticles() {
+        List<Article> merged = new ArrayList<>();
+        for (FileResult result : fileResults) {
+            merged.addAll(result.getArticles());
+        }
+        return merged;
+    }
+
+    /**
+     * Returns the number of files that were parsed successfully.
+     *
+     * @return the count of successful files
+     */
+    public int getSucceeded() {
+        return (int) fileResults.stream().filter(FileResult::isSuccess).count();
+    }
+
+    /**
+     * Returns the number of files that could not be read or parsed.
+     *
+     * @return the count of failed files
+     */
+    public int getFailed() {
+        return fileResults.size() - getSucceeded();
+    }
+
+    /**
+     * The outcome of ingesting a single file.
+     */
+    public static class FileResult {
+        private final File file;
+        private final boolean success;
+        private final List<Article> articles;
+
+        /**
+         * Constructs a FileResult for a file of the batch.
+         *
+         * @param file     the file that was ingested
+         * @param success  whether the file was read and parsed successfully
+         * @param articles the articles parsed from the file, empty if it failed
+         */
+        FileResult(File file, boolean success, List<Article> articles) {
+            this.file = file;
+            this.success = success;
+            this.articles = Collections.unmodifiableList(articles);
+        }
+
+        /**
+         * Returns the file this result belongs to.
+         *
+         * @return the ingested file
+         */
+        public File getFile() {
+            return file;
+        }
+
+        /**
+         * Returns whether the file was read and parsed successfully.
+         *
+         * @return true if the file was parsed, false if reading or parsing failed
+         */
+        public boolean isSuccess() {
+            return success;
+        }
+
+        /**
+         * Returns the complete articles parsed from the file.
+         *
+         * @return an unmodifiable list of articles, empty if the file failed
+         */
+        public List<Article> getArticles() {
+            return articles;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package article_parser;
+
+/**
+ * A fixed-size Bloom filter over 64-bit hashes. It answers "possibly seen" or "definitely not seen" using a bit
+ * array whose size is fixed up front from the expected number of entries and the accepted false positive rate,
+ * so memory stays bounded however many entries are added.
+ */
+class BloomFilter {
+    private final long[] bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    /**
+     * Constructs a BloomFilter sized for the given number of entries and false positive rate.
+     *
+     * @param expectedEntries   the number of entries the filter is sized for
+     * @param falsePositiveRate the accepted probability of reporting an unseen entry as seen, between 0 and 1
+     */
+    BloomFilter(long expectedEntries, double falsePositiveRate) {
+        if (expectedEntries < 1 || falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+            throw new IllegalArgumentException("expectedEntries must be positive and falsePositiveRate between 0 and 1");
+        }
+        long optimalBits = (long) Math.ceil(-expectedEntries * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        bits = new long[(int) Math.min(Integer.MAX_VALUE - 8, (optimalBits + 63) >>> 6)];
+        bitCount = (long) bits.length << 6;
+        hashCount = Math.max(1, (int) Math.round((double) bitCount / expectedEntries * Math.log(2)));
+    }
+
+    /**
+     * Adds a hash to the filter.
+     *
+     * @param hash the 64-bit hash of the entry
+     * @return true if the entry was definitely not present before, false if it may have been
+     */
+    boolean put(long hash) {
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        boolean changed = false;
+        for (int i = 1; i <= hashCount; i++) {
+            long bit = Math.floorMod(h1 + (long) i * h2, bitCount);
+            long mask = 1L << bit;
+            int word = (int) (bit >>> 6);
+            if ((bits[word] & mask) == 0) {
+                bits[word] |= mask;
+                changed = true;
+            }
+        }
+        return changed;
+    }
+}
@@ -0,0 +1,414 @@
+package article_parser;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An ArticleStorage that keeps article fields column by column in off-heap memory instead of as object graphs.
+ * Each field is a Utf8Column of UTF-8 bytes, end offsets and a null bitmap held in direct buffers, and the kind of
+ * each article is one byte per row in a direct buffer of its own, so a stored article costs no heap objects at
+ * all. Articles are handed out as lightweight views that decode a field each time it is read; views of full
+ * articles are FullArticle instances and views of simple articles are plain Article instances, so equals and
+ * instanceof checks behave as for the articles that were stored.
+ * This class is not thread-safe for concurrent appends.
+ */
+public class ColumnarArticleStorage implements ArticleStorage {
+    private static final byte SIMPLE = 0;
+    private static final byte FULL = 1;
+    private static final byte FULL_WITHOUT_SOURCE = 2;
+
+    private final Utf8Column titles;
+    private final Utf8Column descriptions;
+    private final Utf8Column publishedAts;
+    private final Utf8Column urls;
+    private final Utf8Column authors;
+    private final Utf8Column urlsToImage;
+    private final Utf8Column contents;
+    private final Utf8Column sourceIds;
+    private final Utf8Column sourceNames;
+    private ByteBuffer kinds;
+    private int size;
+
+    /**
+     * Constructs an empty ColumnarArticleStorage sized for the expected number of articles.
+     *
+     * @param expectedArticles the number of articles expected to be added before the columns have to grow
+     */
+    public ColumnarArticleStorage(int expectedArticles) {
+        titles = new Utf8Column(expectedArticles, 80);
+        descriptions = new Utf8Column(expectedArticles, 200);
+        publishedAts = new Utf8Column(expectedArticles, 24);
+        urls = new Utf8Column(expectedArticles, 100);
+        authors = new Utf8Column(expectedArticles, 24);
+        urlsToImage = new Utf8Column(expectedArticles, 100);
+        contents = new Utf8Column(expectedArticles, 220);
+        sourceIds = new Utf8Column(expectedArticles, 12);
+        sourceNames = new Utf8Column(expectedArticles, 12);
+        kinds = ByteBuffer.allocateDirect(Utf8Column.initialCapacity(Math.max(16, expectedArticles)));
+    }
+
+    /**
+     * Appends an article. Full articles keep their extra fields and source; a null source is stored as null
+     * in the source columns and read back as null.
+     *
+     * @param article the article to store
+     * @throws IllegalStateException if a column has reached its maximum size; the storage is left unchanged
+     */
+    public void add(Article article) {
+        ByteBuffer grownKinds = size < kinds.capacity() ? kinds
+                : grow(kinds, Utf8Column.grownCapacity(kinds.capacity(), (long) size + 1));
+        try {
+            appendRow(article);
+        } catch (IllegalStateException ex) {
+            for (Utf8Column column : columns()) {
+                column.truncate(size);
+            }
+            throw ex;
+        }
+        kinds = grownKinds;
+        kinds.put(size, kindOf(article));
+        size++;
+    }
+
+    /**
+     * Returns the kind byte stored for an article.
+     *
+     * @param article the article to store
+     * @return SIMPLE, FULL or FULL_WITHOUT_SOURCE
+     */
+    private static byte kindOf(Article article) {
+        if (!(article instanceof FullArticle full)) return SIMPLE;
+        return full.getSource() == null ? FULL_WITHOUT_SOURCE : FULL;
+    }
+
+    /**
+     * Appends the fields of an article to every column.
+     *
+     * @param article the article to store
+     */
+    private void appendRow(Article article) {
+        titles.append(article.getTitle());
+        descriptions.append(article.getDescription());
+        publishedAts.append(article.getPublishedAt());
+        urls.append(article.getUrl());
+        if (article instanceof FullArticle full) {
+            Source source = full.getSource();
+            authors.append(full.getAuthor());
+            urlsToImage.append(full.getUrlToImage());
+            contents.append(full.getContent());
+            sourceIds.append(source == null ? null : source.getId());
+            sourceNames.append(source == null ? null : source.getName());
+        } else {
+            authors.append(null);
+            urlsToImage.append(null);
+            contents.append(null);
+            sourceIds.append(null);
+            sourceNames.append(null);
+        }
+    }
+
+    private Utf8Column[] columns() {
+        return new Utf8Column[]{titles, descriptions, publishedAts, urls, authors, urlsToImage, contents,
+                sourceIds, sourceNames};
+    }
+
+    /**
+     * Copies a direct buffer into a new, larger direct buffer.
+     *
+     * @param buffer   the buffer to grow
+     * @param capacity the capacity of the new buffer
+     * @return the new buffer holding the old buffer's bytes
+     */
+    private static ByteBuffer grow(ByteBuffer buffer, int capacity) {
+        ByteBuffer grown = ByteBuffer.allocateDirect(capacity);
+        grown.put(buffer.duplicate().clear());
+        return grown;
+    }
+
+    /**
+     * Appends every article of a list.
+     *
+     * @param articles the articles to store
+     */
+    public void addAll(List<? extends Article> articles) {
+        for (Article article : articles) {
+            add(article);
+        }
+    }
+
+    /**
+     * Returns the number of stored articles.
+     *
+     * @return the number of articles
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a view of a stored article.
+     *
+     * @param index the index of the article, in insertion order
+     * @return a FullArticle view for full articles, or an Article view for simple ones
+     */
+    public Article get(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return isFull(index) ? new FullArticleView(this, index) : new ArticleView(this, index);
+    }
+
+    /**
+     * Returns the number of off-heap bytes reserved by the columns.
+     *
+     * @return the reserved off-heap size in bytes
+     */
+    public long reservedBytes() {
+        long reserved = kinds.capacity();
+        for (Utf8Column column : columns()) {
+            reserved += column.reservedBytes();
+        }
+        return reserved;
+    }
+
+    /**
+     * Retrieves views of the stored articles, optionally filtering to include only those articles that have all
+     * their fields completely filled. Completeness is checked against the null bitmaps without decoding any field.
+     * A warning is logged if any articles are removed due to missing fields.
+     *
+     * @param onlyCompleteArticles if true, only articles with all fields filled are returned; if false, all articles are returned.
+     * @param logger the Logger used to log warnings when articles with incomplete fields are filtered out.
+     * @return a list of article views in insertion order.
+     */
+    @Override
+    public List<Article> getArticles(boolean onlyCompleteArticles, Logger logger) {
+        List<Article> views = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Article view = get(i);
+            if (!onlyCompleteArticles || view.allFieldsFilled()) {
+                views.add(view);
+            }
+        }
+
+        int diff = size - views.size();
+        if (diff > 0) {
+            logger.log(Level.WARNING, String.format("Removed %d article(s) due to incomplete fields.", diff));
+        }
+        return views;
+    }
+
+    /**
+     * Returns the column holding a field, so that its UTF-8 bytes can be copied without decoding them. The source
+     * is held in two columns, returned by sourceIdColumn and sourceNameColumn.
+     *
+     * @param field the field, other than SOURCE
+     * @return the column of the field
+     */
+    Utf8Column column(ArticleField field) {
+        switch (field) {
+            case AUTHOR: return authors;
+            case TITLE: return titles;
+            case DESCRIPTION: return descriptions;
+            case URL: return urls;
+            case PUBLISHED_AT: return publishedAts;
+            case URL_TO_IMAGE: return urlsToImage;
+            case CONTENT: return contents;
+            default: throw new IllegalArgumentException("The source is held in two columns, not one: " + field);
+        }
+    }
+
+    /**
+     * Returns the column holding the source ids.
+     *
+     * @return the source id column
+     */
+    Utf8Column sourceIdColumn() {
+        return sourceIds;
+    }
+
+    /**
+     * Returns the column holding the source names.
+     *
+     * @return the source name column
+     */
+    Utf8Column sourceNameColumn() {
+        return sourceNames;
+    }
+
+    /**
+     * Returns whether a row holds a full article rather than a simple one.
+     *
+     * @param row the row index
+     * @return true if the row was stored from a FullArticle
+     */
+    boolean isFull(int row) {
+        return kinds.get(row) != SIMPLE;
+    }
+
+    /**
+     * Returns whether a row holds a full article that has a source.
+     *
+     * @param row the row index
+     * @return true if the row was stored from a FullArticle with a non-null source
+     */
+    boolean hasSource(int row) {
+        return kinds.get(row) == FULL;
+    }
+
+    /**
+     * Returns whether every field of the article in a row is non-null, as allFieldsFilled does for its view.
+     *
+     * @param row the row index
+     * @return true if the article of the row is complete
+     */
+    boolean allFieldsFilled(int row) {
+        return missingFields(row) == 0;
+    }
+
+    /**
+     * Returns the missing-field mask of the article in a row, as getMissingFields does for its view, read from
+     * the null bitmaps without decoding any field.
+     *
+     * @param row the row index
+     * @return the missing-field mask, 0 if every field is filled
+     */
+    int missingFields(int row) {
+        int missing = missingBit(titles, row, ArticleField.TITLE) | missingBit(descriptions, row, ArticleField.DESCRIPTION) |
+                missingBit(publishedAts, row, ArticleField.PUBLISHED_AT) | missingBit(urls, row, ArticleField.URL);
+        if (!isFull(row)) {
+            return missing;
+        }
+        missing |= missingBit(authors, row, ArticleField.AUTHOR) | missingBit(urlsToImage, row, ArticleField.URL_TO_IMAGE) |
+                missingBit(contents, row, ArticleField.CONTENT);
+        if (!hasSource(row) || sourceIds.isNull(row) || sourceNames.isNull(row)) {
+            missing |= ArticleField.SOURCE.mask();
+        }
+        return missing;
+    }
+
+    /**
+     * Returns the mask bit of a field if its value in a row is null.
+     *
+     * @param column the column of the field
+     * @param row    the row index
+     * @param field  the field
+     * @return the field's mask bit if the row holds null, 0 otherwise
+     */
+    private static int missingBit(Utf8Column column, int row, ArticleField field) {
+        return column.isNull(row) ? field.mask() : 0;
+    }
+
+    /**
+     * A view of a stored simple article.
+     */
+    private static final class ArticleView extends Article {
+        private final ColumnarArticleStorage storage;
+        private final int row;
+
+        ArticleView(ColumnarArticleStorage storage, int row) {
+            super(null, null, null, null);
+            this.storage = storage;
+            this.row = row;
+        }
+
+        @Override
+        public String getTitle() {
+            return storage.titles.get(row);
+        }
+
+        @Override
+        public String getDescription() {
+            return storage.descriptions.get(row);
+        }
+
+        @Override
+        public String getPublishedAt() {
+            return storage.publishedAts.get(row);
+        }
+
+        @Override
+        public String getUrl() {
+            return storage.urls.get(row);
+        }
+
+        @Override
+        public int getMissingFields() {
+            return storage.missingFields(row);
+        }
+
+        @Override
+        public boolean allFieldsFilled() {
+            return storage.allFieldsFilled(row);
+        }
+    }
+
+    /**
+     * A view of a stored full article.
+     */
+    private static final class FullArticleView extends FullArticle {
+        private final ColumnarArticleStorage storage;
+        private final int row;
+
+        FullArticleView(ColumnarArticleStorage storage, int row) {
+            super(null, null, null, null, null, null, null, null);
+            this.storage = storage;
+            this.row = row;
+        }
+
+        @Override
+        public String getTitle() {
+            return storage.titles.get(row);
+        }
+
+        @Override
+        public String getDescription() {
+            return storage.descriptions.get(row);
+        }
+
+        @Override
+        public String getPublishedAt() {
+            return storage.publishedAts.get(row);
+        }
+
+        @Override
+        public String getUrl() {
+            return storage.urls.get(row);
+        }
+
+        @Override
+        public String getAuthor() {
+            return storage.authors.get(row);
+        }
+
+        @Override
+        public String getUrlToImage() {
+            return storage.urlsToImage.get(row);
+        }
+
+        @Override
+        public String getContent() {
+            return storage.contents.get(row);
+        }
+
+        @Override
+        public Source getSource() {
+            if (storage.hasSource(row)) {
+                return Source.intern(storage.sourceIds.get(row), storage.sourceNames.get(row));
+            }
+            return null;
+        }
+
+        @Override
+        public int getMissingFields() {
+            return storage.missingFields(row);
+        }
+
+        @Override
+        public boolean allFieldsFilled() {
+            return storage.allFieldsFilled(row);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package article_parser;
+
+/**
+ * The formats ArticleExporter can write.
+ */
+public enum ExportFormat {
+    /**
+     * One JSON object per line, in the NewsAPI field layout. Full articles are readable back as NewsFormat.JSON_LINES;
+     * simple articles read back as FullArticle instances without a source.
+     */
+    JSON_LINES,
+    /** RFC 4180 comma-separated values with a header row and CRLF line endings. */
+    CSV
+}
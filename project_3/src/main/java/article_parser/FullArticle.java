@@ -10,6 +10,9 @@ import java.util.Objects;
  * image URL, content, and the source from which the article originated.
  */
 public class FullArticle extends Article {
+    /** Marks a FullArticle whose missing-field mask is computed from its fields on request. */
+    static final int UNKNOWN_MISSING_FIELDS = -1;
+
     @JsonProperty
     private final String author;
     @JsonProperty
@@ -18,6 +21,7 @@ public class FullArticle extends Article {
     private final String content;
     @JsonProperty
     private final Source source;
+    private final int missingFields;
 
     /**
      * Constructs a FullArticle with additional details such as author, URL to an image, and content.
@@ -31,20 +35,64 @@ public class FullArticle extends Article {
      * @param urlToImage  the URL to an image related to the article
      * @param content     the main content of the article
      */
-    @JsonCreator
-    public FullArticle(@JsonProperty("source") Source source,
-                       @JsonProperty("author") String author,
-                       @JsonProperty("title") String title,
-                       @JsonProperty("description") String description,
-                       @JsonProperty("url") String url,
-                       @JsonProperty("publishedAt") String publishedAt,
-                       @JsonProperty("urlToImage") String urlToImage,
-                       @JsonProperty("content") String content) {
+    public FullArticle(Source source,
+                       String author,
+                       String title,
+                       String description,
+                       String url,
+                       String publishedAt,
+                       String urlToImage,
+                       String content) {
+        this(source, author, title, description, url, publishedAt, urlToImage, content, UNKNOWN_MISSING_FIELDS);
+    }
+
+    /**
+     * Constructs a FullArticle whose missing-field mask was already computed while decoding.
+     *
+     * @param source        the source of the article
+     * @param author        the author of the article
+     * @param title         the title of the article
+     * @param description   the description of the article
+     * @param url           the URL where the article can be accessed
+     * @param publishedAt   the publication date and time of the article
+     * @param urlToImage    the URL to an image related to the article
+     * @param content       the main content of the article
+     * @param missingFields the missing-field mask, or UNKNOWN_MISSING_FIELDS to compute it from the fields
+     */
+    FullArticle(Source source, String author, String title, String description, String url, String publishedAt,
+                String urlToImage, String content, int missingFields) {
         super(title, description, publishedAt, url);
         this.source = source;
         this.author = author;
         this.urlToImage = urlToImage;
         this.content = content;
+        this.missingFields = missingFields;
+    }
+
+    /**
+     * Creates a FullArticle while deserializing. The source is already interned by Source; authors are not,
+     * since they are too many to share one process-wide pool.
+     *
+     * @param source      the source of the article
+     * @param author      the author of the article
+     * @param title       the title of the article
+     * @param description the description of the article
+     * @param url         the URL where the article can be accessed
+     * @param publishedAt the publication date and time of the article
+     * @param urlToImage  the URL to an image related to the article
+     * @param content     the main content of the article
+     * @return the deserialized FullArticle
+     */
+    @JsonCreator
+    static FullArticle fromJson(@JsonProperty("source") Source source,
+                                @JsonProperty("author") String author,
+                                @JsonProperty("title") String title,
+                                @JsonProperty("description") String description,
+                                @JsonProperty("url") String url,
+                                @JsonProperty("publishedAt") String publishedAt,
+                                @JsonProperty("urlToImage") String urlToImage,
+                                @JsonProperty("content") String content) {
+        return new FullArticle(source, author, title, description, url, publishedAt, urlToImage, content);
     }
 
     /**
@@ -59,10 +107,10 @@ public class FullArticle extends Article {
         if (this == o) return true;
         if (!(super.equals(o))) return false;
         if (!(o instanceof FullArticle fullArticle)) return false;
-        return Objects.equals(author, fullArticle.author) &&
-                Objects.equals(urlToImage, fullArticle.urlToImage) &&
-                Objects.equals(content, fullArticle.content) &&
-                Objects.equals(source, fullArticle.source);
+        return Objects.equals(getAuthor(), fullArticle.getAuthor()) &&
+                Objects.equals(getUrlToImage(), fullArticle.getUrlToImage()) &&
+                Objects.equals(getContent(), fullArticle.getContent()) &&
+                Objects.equals(getSource(), fullArticle.getSource());
     }
 
     /**
@@ -72,7 +120,7 @@ public class FullArticle extends Article {
      */
     @Override
     public int hashCode() {
-        return Objects.hash(super.hashCode(), author, urlToImage, content, source);
+        return Objects.hash(super.hashCode(), getAuthor(), getUrlToImage(), getContent(), getSource());
     }
 
     /**
@@ -111,6 +159,20 @@ public class FullArticle extends Article {
         return source;
     }
 
+    /**
+     * Returns a mask of the fields that are null, including a source without both an id and a name.
+     * Articles decoded with a precomputed mask return it without inspecting their fields.
+     *
+     * @return the missing-field mask, 0 if every field is filled
+     */
+    @Override
+    public int getMissingFields() {
+        if (missingFields != UNKNOWN_MISSING_FIELDS) return missingFields;
+        return super.getMissingFields() | missingBit(getAuthor(), ArticleField.AUTHOR) |
+                missingBit(getUrlToImage(), ArticleField.URL_TO_IMAGE) | missingBit(getContent(), ArticleField.CONTENT) |
+                (sourceFilled() ? 0 : ArticleField.SOURCE.mask());
+    }
+
     /**
      * Returns a boolean that is false if any fields are null
      *
@@ -118,7 +180,16 @@ public class FullArticle extends Article {
      */
     @Override
     public boolean allFieldsFilled() {
-        return super.allFieldsFilled() &&
-                author != null && urlToImage != null && content != null && source.getId() != null && source.getName() != null;
+        return getMissingFields() == 0;
+    }
+
+    /**
+     * Returns a boolean that is true if the source is present with both its id and name
+     *
+     * @return boolean that is true if the source is fully filled
+     */
+    boolean sourceFilled() {
+        Source source = getSource();
+        return source != null && source.getId() != null && source.getName() != null;
     }
 }
@@ -2,18 +2,19 @@ package article_parser;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.stream.Collectors;
 
 /**
  * This class provides a container for storing a collection of articles along with metadata about the collection.
  * It implements the ArticleStorage interface and can hold multiple articles. Designed for JSON parsing
  */
-class FullArticleStorage implements ArticleStorage {
+public class FullArticleStorage implements ArticleStorage {
     private final List<? extends Article> articles;
     private final Integer totalResults;
     private final String status;
@@ -21,17 +22,17 @@ class FullArticleStorage implements ArticleStorage {
     /**
      * Constructs a FullArticleStorage instance with the specified collection of articles and metadata.
      *
-     * @param articles     the list of articles to be stored
+     * @param articles     the list of articles to be stored, or null if the payload carried none
      * @param totalResults the total number of results that match a query or total available articles
      * @param status       the status of the response or storage (e.g., "ok", "error")
      */
     @JsonCreator
-    FullArticleStorage(@JsonProperty("articles") List<? extends Article> articles,
-                       @JsonProperty("totalResults") Integer totalResults,
-                       @JsonProperty("status") String status) {
+    public FullArticleStorage(@JsonProperty("articles") @JsonDeserialize(contentAs = FullArticle.class) List<? extends Article> articles,
+                              @JsonProperty("totalResults") Integer totalResults,
+                              @JsonProperty("status") String status) {
         this.status = status;
         this.totalResults = totalResults;
-        this.articles = articles;
+        this.articles = articles == null ? Collections.emptyList() : articles;
     }
 
     /**
@@ -45,8 +46,12 @@ class FullArticleStorage implements ArticleStorage {
      */
     public List<Article> getArticles(boolean onlyCompleteArticles, Logger logger) {
         if (!onlyCompleteArticles) return new ArrayList<>(articles);
-        ArrayList<Article> filtered = new ArrayList<>(articles.stream()
-                .filter(Article::allFieldsFilled).collect(Collectors.toList()));
+        ArrayList<Article> filtered = new ArrayList<>(articles.size());
+        for (Article article : articles) {
+            if (article.allFieldsFilled()) {
+                filtered.add(article);
+            }
+        }
 
         int diff = articles.size() - filtered.size();
         if(diff > 0){
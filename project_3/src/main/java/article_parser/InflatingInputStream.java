@@ -0,0 +1,175 @@
+package article_parser;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.lang.ref.Cleaner;
+import java.util.Arrays;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * An InputStream that inflates gzip-compressed input on its own thread. The inflater thread reads and inflates
+ * the compressed stream into fixed-size blocks and hands them over through a bounded queue, while the thread
+ * reading from this stream, typically a JSON parser, consumes the blocks. Disk reads and inflation thereby overlap
+ * with parsing, and at most a few blocks of inflated data are held at any time.
+ * <p>
+ * The inflater thread only refers to the shared Inflation state, not to this stream, so a stream that is dropped
+ * without being closed becomes unreachable and a Cleaner stops the thread, which then closes the compressed stream.
+ */
+class InflatingInputStream extends InputStream {
+    private static final byte[] END = new byte[0];
+    private static final int BLOCK_SIZE = 1 << 16;
+    private static final int QUEUED_BLOCKS = 8;
+    private static final Cleaner CLEANER = Cleaner.create();
+
+    private final Inflation inflation;
+    private final Cleaner.Cleanable cleanable;
+    private byte[] block = new byte[0];
+    private int blockLength;
+    private int position;
+
+    /**
+     * Constructs an InflatingInputStream and starts inflating on a new daemon thread.
+     *
+     * @param compressed the gzip-compressed stream, closed once fully read or when this stream is closed or dropped
+     */
+    InflatingInputStream(InputStream compressed) {
+        inflation = new Inflation(compressed);
+        cleanable = CLEANER.register(this, inflation::stop);
+        Thread inflater = new Thread(inflation, "news-inflater");
+        inflater.setDaemon(true);
+        inflater.start();
+    }
+
+    /**
+     * Returns whether a stream starts with the gzip magic number, without consuming it.
+     *
+     * @param in a stream that supports mark and reset
+     * @return true if the next two bytes are the gzip magic number
+     * @throws IOException if the stream cannot be read
+     */
+    static boolean isGzip(BufferedInputStream in) throws IOException {
+        in.mark(2);
+        int first = in.read();
+        int second = in.read();
+        in.reset();
+        return first == (GZIPInputStream.GZIP_MAGIC & 0xFF) && second == (GZIPInputStream.GZIP_MAGIC >>> 8);
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (!fill()) return -1;
+        return block[position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] buffer, int offset, int length) throws IOException {
+        if (length == 0) return 0;
+        if (!fill()) return -1;
+        int count = Math.min(length, blockLength - position);
+        System.arraycopy(block, position, buffer, offset, count);
+        position += count;
+        return count;
+    }
+
+    @Override
+    public int available() {
+        return blockLength - position;
+    }
+
+    /**
+     * Stops the inflater thread, which closes the compressed stream as it exits.
+     */
+    @Override
+    public void close() {
+        cleanable.clean();
+    }
+
+    /**
+     * Makes sure the current block has unread bytes, taking the next block from the inflater if needed. Once
+     * inflating has failed, every later call throws the same failure rather than reporting the end of the data.
+     *
+     * @return false if the end of the inflated data has been reached
+     * @throws IOException if inflating failed or the wait for the next block was interrupted
+     */
+    private boolean fill() throws IOException {
+        if (inflation.closed) throw new IOException("Stream closed");
+        while (position == blockLength) {
+            if (block == END) {
+                if (inflation.failure != null) throw inflation.failure;
+                return false;
+            }
+            try {
+                block = inflation.blocks.take();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for inflated data");
+            }
+            blockLength = block.length;
+            position = 0;
+        }
+        return true;
+    }
+
+    /**
+     * The state shared with the inflater thread: the compressed stream, the queue of inflated blocks, the failure
+     * that ended inflating, if any, and whether the reading side has gone away.
+     */
+    private static final class Inflation implements Runnable {
+        private final BlockingQueue<byte[]> blocks = new ArrayBlockingQueue<>(QUEUED_BLOCKS);
+        private final InputStream compressed;
+        private volatile IOException failure;
+        private volatile boolean closed;
+
+        Inflation(InputStream compressed) {
+            this.compressed = compressed;
+        }
+
+        /**
+         * Inflates the compressed stream into blocks until it ends, fails, or the stream is closed or dropped.
+         */
+        @Override
+        public void run() {
+            try (InputStream in = new GZIPInputStream(compressed, BLOCK_SIZE)) {
+                while (!closed) {
+                    byte[] next = new byte[BLOCK_SIZE];
+                    int length = in.readNBytes(next, 0, BLOCK_SIZE);
+                    if (length == 0) break;
+                    if (!hand(length == BLOCK_SIZE ? next : Arrays.copyOf(next, length))) return;
+                }
+            } catch (IOException ex) {
+                failure = ex;
+            }
+            hand(END);
+        }
+
+        /**
+         * Hands a block to the reading side, waiting while the queue is full.
+         *
+         * @param next the block to hand over
+         * @return false if the stream was closed or dropped before the block could be handed over
+         */
+        private boolean hand(byte[] next) {
+            try {
+                while (!closed) {
+                    if (blocks.offer(next, 100, TimeUnit.MILLISECONDS)) return true;
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return false;
+        }
+
+        /**
+         * Stops the inflater thread. Runs when the stream is closed, or once it has become unreachable.
+         */
+        void stop() {
+            closed = true;
+            blocks.clear();
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package article_parser;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A bounded pool of canonical instances. Interning a value returns the pooled instance equal to it, so equal
+ * values decoded from many articles share one object. Once the pool is full, a new value replaces a pooled one
+ * chosen by the CLOCK policy: a hand sweeps the pooled values, sparing each value that was looked up since the
+ * hand last passed it and evicting the first one that was not. Values that keep recurring therefore stay pooled,
+ * while a burst of one-off values only cycles through the pool instead of filling it for good.
+ * <p>
+ * Lookups of pooled values are lock-free; only pooling a new value takes the pool's lock.
+ *
+ * @param <T> the type of the pooled values, which must implement equals and hashCode
+ */
+class InternPool<T> {
+    /** Pool for low-cardinality string fields such as source ids and source names. */
+    static final InternPool<String> STRINGS = new InternPool<>(1 << 16);
+
+    private final ConcurrentMap<T, Slot<T>> pool = new ConcurrentHashMap<>();
+    private final Slot<T>[] ring;
+    private int used;
+    private int hand;
+
+    /**
+     * Constructs an InternPool holding at most the given number of canonical instances.
+     *
+     * @param capacity the maximum number of pooled values, at least 1
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    InternPool(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        ring = (Slot<T>[]) new Slot[capacity];
+    }
+
+    /**
+     * Returns the canonical instance equal to a value, pooling the value if it is new. Pooling into a full pool
+     * evicts the value the clock hand settles on.
+     *
+     * @param value the value to intern, may be null
+     * @return the pooled instance equal to value, or null if value is null
+     */
+    T intern(T value) {
+        if (value == null) return null;
+        Slot<T> slot = pool.get(value);
+        if (slot == null) {
+            synchronized (this) {
+                slot = pool.get(value);
+                if (slot == null) {
+                    int index = used < ring.length ? used++ : evict();
+                    slot = new Slot<>(value);
+                    ring[index] = slot;
+                    pool.put(value, slot);
+                    return value;
+                }
+            }
+        }
+        slot.referenced = true;
+        return slot.value;
+    }
+
+    /**
+     * Advances the clock hand to the first value not looked up since the hand last passed it, clearing the
+     * reference bits it sweeps over, and removes that value from the pool.
+     *
+     * @return the ring index freed for the new value
+     */
+    private int evict() {
+        while (true) {
+            int index = hand;
+            hand = (hand + 1) % ring.length;
+            Slot<T> slot = ring[index];
+            if (slot.referenced) {
+                slot.referenced = false;
+            } else {
+                pool.remove(slot.value);
+                return index;
+            }
+        }
+    }
+
+    /**
+     * Returns the number of pooled values.
+     *
+     * @return the pool size
+     */
+    int size() {
+        return pool.size();
+    }
+
+    /**
+     * A pooled value and its CLOCK reference bit.
+     */
+    private static final class Slot<T> {
+        final T value;
+        volatile boolean referenced;
+
+        Slot(T value) {
+            this.value = value;
+        }
+    }
+}
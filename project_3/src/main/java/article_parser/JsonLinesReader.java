@@ -0,0 +1,255 @@
+package article_parser;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * Reads JSON_LINES content, one NEWS_API article object per line, in parallel. The content is split into byte
+ * ranges that end on newline boundaries, each range is decoded by its own task on a bounded ForkJoinPool, and the
+ * per-range results are concatenated in range order, so the output is the same for any degree of parallelism.
+ * Every line is parsed on its own, so a malformed line is recorded as an ArticleError and reading carries on at
+ * the next line. With lazy bodies, description and content offsets are recorded relative to the whole content,
+ * so the resulting LazyFullArticle instances decode them from the same buffer.
+ * <p>
+ * Content that is only available as a stream, such as an inflated gzip file, is read a block at a time instead
+ * and each block's complete lines are decoded before the next block is read, so the content is never held whole.
+ */
+class JsonLinesReader {
+    private static final JsonFactory FACTORY = new JsonFactory();
+    private static final int STREAM_BLOCK_BYTES = 1 << 16;
+
+    private final int parallelism;
+    private final int minChunkBytes;
+
+    /**
+     * Constructs a JsonLinesReader.
+     *
+     * @param parallelism   the maximum number of ranges decoded at the same time
+     * @param minChunkBytes the smallest range worth handing to its own task
+     */
+    JsonLinesReader(int parallelism, int minChunkBytes) {
+        if (parallelism < 1 || minChunkBytes < 1) {
+            throw new IllegalArgumentException("Parallelism and chunk size must be at least 1");
+        }
+        this.parallelism = parallelism;
+        this.minChunkBytes = minChunkBytes;
+    }
+
+    /**
+     * Decodes every article line of the content.
+     *
+     * @param bytes      the UTF-8 content, from offset 0 to the buffer's limit
+     * @param filter     the filter articles must pass, or null to keep every article
+     * @param lazyBodies true to decode articles as LazyFullArticle instances over the content
+     * @return the decoded articles, in line order, and the errors of malformed lines
+     * @throws InterruptedException if the calling thread is interrupted while waiting for the ranges
+     * @throws ExecutionException   if decoding a range fails unexpectedly
+     */
+    Chunk read(ByteBuffer bytes, ArticleFilter filter, boolean lazyBodies) throws InterruptedException, ExecutionException {
+        List<Callable<Chunk>> tasks = new ArrayList<>();
+        int length = bytes.limit();
+        int target = Math.max(minChunkBytes, length / (parallelism * 4) + 1);
+        for (int start = 0; start < length; ) {
+            int newline = indexOfNewline(bytes, Math.min(length, start + target) - 1, length);
+            int end = Math.min(length, newline + 1);
+            int rangeStart = start;
+            tasks.add(() -> readRange(bytes, rangeStart, end, filter, lazyBodies));
+            start = end;
+        }
+
+        List<Chunk> chunks = new ArrayList<>(tasks.size());
+        if (tasks.size() <= 1 || parallelism == 1) {
+            chunks.add(readRange(bytes, 0, length, filter, lazyBodies));
+        } else {
+            ForkJoinPool pool = new ForkJoinPool(parallelism);
+            try {
+                for (Future<Chunk> future : pool.invokeAll(tasks)) {
+                    chunks.add(future.get());
+                }
+            } finally {
+                pool.shutdown();
+            }
+        }
+
+        Chunk merged = new Chunk();
+        for (Chunk chunk : chunks) {
+            merged.append(chunk, 0);
+        }
+        merged.bytes = length;
+        return merged;
+    }
+
+    /**
+     * Decodes every article line of a stream, one block of complete lines at a time. A line longer than a block
+     * grows the block until the line fits. The stream is read to its end but not closed.
+     *
+     * @param in     the UTF-8 content
+     * @param filter the filter articles must pass, or null to keep every article
+     * @return the decoded articles, in line order, and the errors of malformed lines
+     * @throws IOException if the stream cannot be read, including when it ends early
+     */
+    Chunk read(InputStream in, ArticleFilter filter) throws IOException {
+        Chunk merged = new Chunk();
+        byte[] block = new byte[Math.max(minChunkBytes, STREAM_BLOCK_BYTES)];
+        int filled = 0;
+        long blockOffset = 0;
+        boolean ended = false;
+        while (!ended) {
+            filled += in.readNBytes(block, filled, block.length - filled);
+            ended = filled < block.length;
+            int lines = ended ? filled : lastIndexOfNewline(block, filled) + 1;
+            if (lines > 0) {
+                merged.append(readRange(ByteBuffer.wrap(block), 0, lines, filter, false), blockOffset);
+                System.arraycopy(block, lines, block, 0, filled - lines);
+                filled -= lines;
+                blockOffset += lines;
+            } else if (!ended) {
+                block = Arrays.copyOf(block, block.length * 2);
+            }
+        }
+        merged.bytes = blockOffset;
+        return merged;
+    }
+
+    /**
+     * Decodes the lines of one byte range.
+     *
+     * @param bytes      the UTF-8 content
+     * @param start      the offset of the first byte of the range, at the start of a line
+     * @param end        the offset just past the range, at the start of a line or the end of the content
+     * @param filter     the filter articles must pass, or null to keep every article
+     * @param lazyBodies true to decode articles as LazyFullArticle instances over the content
+     * @return the articles and errors of the range, with error indexes counted from the start of the range
+     */
+    private static Chunk readRange(ByteBuffer bytes, int start, int end, ArticleFilter filter, boolean lazyBodies) {
+        Chunk chunk = new Chunk();
+        ArticleDecoder decoder = new ArticleDecoder(lazyBodies ? bytes : null, filter);
+        for (int lineStart = start; lineStart < end; ) {
+            int lineEnd = indexOfNewline(bytes, lineStart, end);
+            if (!isBlank(bytes, lineStart, lineEnd)) {
+                try (JsonParser parser = createParser(bytes, lineStart, lineEnd)) {
+                    JsonToken token = parser.nextToken();
+                    if (token != JsonToken.START_OBJECT) {
+                        throw JsonMappingException.from(parser, "Expected an article object, got: " + token);
+                    }
+                    FullArticle article = decoder.decode(parser, lineStart);
+                    if (article != null) {
+                        chunk.articles.add(article);
+                    }
+                } catch (IOException ex) {
+                    String message = ex instanceof JsonProcessingException processing
+                            ? processing.getOriginalMessage() : ex.getMessage();
+                    chunk.errors.add(new ArticleError(chunk.records, lineStart, -1, message));
+                }
+                chunk.records++;
+            }
+            lineStart = lineEnd + 1;
+        }
+        chunk.rejected = decoder.getRejected();
+        return chunk;
+    }
+
+    /**
+     * Creates a parser over one line of the content.
+     *
+     * @param bytes the UTF-8 content
+     * @param start the offset of the first byte of the line
+     * @param end   the offset just past the line
+     * @return a parser over the line
+     * @throws IOException if the parser cannot be created
+     */
+    private static JsonParser createParser(ByteBuffer bytes, int start, int end) throws IOException {
+        if (bytes.hasArray()) {
+            return FACTORY.createParser(bytes.array(), bytes.arrayOffset() + start, end - start);
+        }
+        ByteBuffer line = bytes.duplicate();
+        line.limit(end).position(start);
+        return FACTORY.createParser(new ByteBufferBackedInputStream(line));
+    }
+
+    /**
+     * Finds the next newline.
+     *
+     * @param bytes the UTF-8 content
+     * @param from  the offset to start searching at
+     * @param end   the offset to stop searching at
+     * @return the offset of the next newline, or end if there is none before it
+     */
+    private static int indexOfNewline(ByteBuffer bytes, int from, int end) {
+        for (int i = from; i < end; i++) {
+            if (bytes.get(i) == '\n') return i;
+        }
+        return end;
+    }
+
+    /**
+     * Finds the last newline of a block.
+     *
+     * @param block  the UTF-8 content
+     * @param length the number of bytes of the block in use
+     * @return the offset of the last newline, or -1 if there is none
+     */
+    private static int lastIndexOfNewline(byte[] block, int length) {
+        for (int i = length - 1; i >= 0; i--) {
+            if (block[i] == '\n') return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Returns whether a line holds nothing but whitespace.
+     *
+     * @param bytes the UTF-8 content
+     * @param start the offset of the first byte of the line
+     * @param end   the offset just past the line
+     * @return true if the line is blank
+     */
+    private static boolean isBlank(ByteBuffer bytes, int start, int end) {
+        for (int i = start; i < end; i++) {
+            byte b = bytes.get(i);
+            if (b != ' ' && b != '\t' && b != '\r') return false;
+        }
+        return true;
+    }
+
+    /**
+     * The articles and errors decoded from a range of lines.
+     */
+    static final class Chunk {
+        final List<FullArticle> articles = new ArrayList<>();
+        final List<ArticleError> errors = new ArrayList<>();
+        int records;
+        int rejected;
+        long bytes;
+
+        /**
+         * Appends the results of the range that follows this one.
+         *
+         * @param chunk      the results of the next range
+         * @param byteOffset the offset of the next range within the content, added to its error offsets
+         */
+        void append(Chunk chunk, long byteOffset) {
+            articles.addAll(chunk.articles);
+            for (ArticleError error : chunk.errors) {
+                errors.add(new ArticleError(records + error.getIndex(), byteOffset + error.getByteOffset(), -1, error.getMessage()));
+            }
+            records += chunk.records;
+            rejected += chunk.rejected;
+        }
+    }
+}
@@ -0,0 +1,97 @@
+package article_parser;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A FullArticle whose description and content, typically its largest fields, are decoded only on first access.
+ * Instead of Strings it keeps a reference to the UTF-8 source bytes and the offset of each field's JSON value,
+ * so consumers that only read the title, URL or publication date never pay to decode the article body.
+ * The missing-field mask is computed while decoding, so allFieldsFilled never decodes a lazy field; equals and
+ * hashCode decode the fields as needed and behave exactly as for an eagerly decoded FullArticle.
+ */
+public class LazyFullArticle extends FullArticle {
+    /** Marks a lazy field whose JSON value was null or absent. */
+    static final int ABSENT = -1;
+    private static final JsonFactory FACTORY = new JsonFactory();
+
+    private final ByteBuffer bytes;
+    private final int descriptionOffset;
+    private final int contentOffset;
+    private volatile String description;
+    private volatile String content;
+
+    /**
+     * Constructs a LazyFullArticle over the bytes it was decoded from.
+     *
+     * @param source            the source of the article
+     * @param author            the author of the article
+     * @param title             the title of the article
+     * @param url               the URL where the article can be accessed
+     * @param publishedAt       the publication date and time of the article
+     * @param urlToImage        the URL to an image related to the article
+     * @param bytes             the UTF-8 bytes of the document the article was decoded from
+     * @param descriptionOffset the offset of the description value within bytes, or ABSENT if it is null
+     * @param contentOffset     the offset of the content value within bytes, or ABSENT if it is null
+     * @param missingFields     the missing-field mask computed while decoding
+     */
+    LazyFullArticle(Source source, String author, String title, String url, String publishedAt, String urlToImage,
+                    ByteBuffer bytes, int descriptionOffset, int contentOffset, int missingFields) {
+        super(source, author, title, null, url, publishedAt, urlToImage, null, missingFields);
+        this.bytes = bytes;
+        this.descriptionOffset = descriptionOffset;
+        this.contentOffset = contentOffset;
+    }
+
+    /**
+     * Returns the description of the article, decoding it on first access.
+     *
+     * @return the article's description
+     */
+    @Override
+    public String getDescription() {
+        String value = description;
+        if (value == null && descriptionOffset != ABSENT) {
+            value = decode(descriptionOffset);
+            description = value;
+        }
+        return value;
+    }
+
+    /**
+     * Returns the main content of the article, decoding it on first access.
+     *
+     * @return the article's content as a String
+     */
+    @Override
+    public String getContent() {
+        String value = content;
+        if (value == null && contentOffset != ABSENT) {
+            value = decode(contentOffset);
+            content = value;
+        }
+        return value;
+    }
+
+    /**
+     * Decodes the JSON scalar value starting at an offset of the source bytes.
+     *
+     * @param offset the offset of the value within the source bytes
+     * @return the decoded value as a String
+     */
+    private String decode(int offset) {
+        ByteBuffer value = bytes.duplicate();
+        value.position(offset);
+        try (JsonParser parser = FACTORY.createParser(new ByteBufferBackedInputStream(value))) {
+            parser.nextToken();
+            return parser.getValueAsString();
+        } catch (IOException ex) {
+            throw new UncheckedIOException("Failed to decode lazy article field at offset " + offset, ex);
+        }
+    }
+}
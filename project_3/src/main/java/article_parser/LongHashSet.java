@@ -0,0 +1,110 @@
+package article_parser;
+
+/**
+ * A compact set of long values using open addressing with linear probing over a primitive array.
+ * It stores 8 bytes per slot and no per-entry objects, which keeps millions of keys cheap to hold.
+ * Zero is used to mark empty slots and is stored through a separate flag. The table holds at most MAX_CAPACITY
+ * slots, so the set holds at most about 644 million values.
+ */
+class LongHashSet {
+    // The largest power-of-two table that fits in an array
+    static final int MAX_CAPACITY = 1 << 30;
+    private static final double MAX_LOAD = 0.6;
+    private long[] table;
+    private int size;
+    private boolean containsZero;
+
+    /**
+     * Constructs a LongHashSet sized to hold the expected number of values without resizing.
+     *
+     * @param expectedSize the number of values expected to be added
+     */
+    LongHashSet(int expectedSize) {
+        int capacity = Integer.highestOneBit((int) Math.max(16, Math.min(MAX_CAPACITY, expectedSize / MAX_LOAD)) - 1) << 1;
+        table = new long[capacity];
+    }
+
+    /**
+     * Adds a value to the set.
+     *
+     * @param value the value to add
+     * @return true if the value was not already present
+     * @throws IllegalStateException if the value is new but the table is already at MAX_CAPACITY and fully
+     *                               loaded; the set is left unchanged
+     */
+    boolean add(long value) {
+        if (value == 0) {
+            if (containsZero) return false;
+            containsZero = true;
+            size++;
+            return true;
+        }
+        int slot = slotOf(value);
+        if (table[slot] == value) return false;
+        if (size + 1 > table.length * MAX_LOAD) {
+            resize();
+            slot = slotOf(value);
+        }
+        table[slot] = value;
+        size++;
+        return true;
+    }
+
+    /**
+     * Finds the slot holding a value, or the empty slot where it would be inserted.
+     *
+     * @param value the value to look up, not zero
+     * @return the index of the slot
+     */
+    private int slotOf(long value) {
+        int mask = table.length - 1;
+        int slot = mix(value) & mask;
+        while (table[slot] != 0 && table[slot] != value) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    /**
+     * Computes the capacity a table grows to: double its current capacity.
+     *
+     * @param current the current capacity
+     * @return the new capacity
+     * @throws IllegalStateException if the table is already at MAX_CAPACITY
+     */
+    static int grownCapacity(int current) {
+        if (current >= MAX_CAPACITY) {
+            throw new IllegalStateException(String.format(
+                    "LongHashSet is full: a table holds at most %d slots at a load of %.1f", MAX_CAPACITY, MAX_LOAD));
+        }
+        return current << 1;
+    }
+
+    /**
+     * Doubles the table and reinserts every value.
+     */
+    private void resize() {
+        long[] old = table;
+        table = new long[grownCapacity(old.length)];
+        int mask = table.length - 1;
+        for (long value : old) {
+            if (value == 0) continue;
+            int slot = mix(value) & mask;
+            while (table[slot] != 0) {
+                slot = (slot + 1) & mask;
+            }
+            table[slot] = value;
+        }
+    }
+
+    /**
+     * Spreads the bits of a value so that neighbouring values land in distant slots.
+     *
+     * @param value the value to mix
+     * @return the mixed slot index before masking
+     */
+    private static int mix(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
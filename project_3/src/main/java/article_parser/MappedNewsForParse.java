@@ -0,0 +1,92 @@
+package article_parser;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A file-backed variant of NewsForParse that memory-maps the file instead of reading it into a String.
+ * The mapped bytes are handed to the parser as UTF-8, so large files are neither copied onto the heap
+ * nor decoded to UTF-16 before Jackson tokenizes them.
+ */
+public class MappedNewsForParse extends NewsForParse {
+    private final ByteBuffer mapped;
+
+    /**
+     * Memory-maps a file so that it can be parsed as news content. Files larger than 2 GB cannot be mapped in a
+     * single region and are rejected.
+     *
+     * @param file   The file to map.
+     * @param format The format of the news content in the file.
+     * @param logger Logger to log any exceptions occurring while mapping the file.
+     * @return A MappedNewsForParse over the file, or null if the file could not be mapped.
+     */
+    public static MappedNewsForParse fromFile(File file, NewsFormat format, Logger logger) {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > Integer.MAX_VALUE) {
+                logger.log(Level.SEVERE, String.format("File %s is too large to be mapped (%d bytes).", file, size));
+                return null;
+            }
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            return new MappedNewsForParse(format, mapped);
+        } catch (IOException ex) {
+            logger.log(Level.SEVERE, "Exception occurred while trying to map file: ", ex);
+        }
+        return null;
+    }
+
+    /**
+     * Constructs a MappedNewsForParse over a buffer holding UTF-8 encoded news content.
+     *
+     * @param newsFormat The format of the news content.
+     * @param mapped     The buffer holding the content, from its position to its limit.
+     */
+    MappedNewsForParse(NewsFormat newsFormat, ByteBuffer mapped) {
+        super(NewsSource.FILE, newsFormat, null);
+        this.mapped = mapped;
+    }
+
+    /**
+     * Creates a parser that reads the mapped bytes directly as UTF-8.
+     *
+     * @param factory the JsonFactory used to create the parser.
+     * @return a new JsonParser over the mapped bytes.
+     * @throws IOException if the parser cannot be created.
+     */
+    @Override
+    protected JsonParser createParser(JsonFactory factory) throws IOException {
+        return factory.createParser(new ByteBufferBackedInputStream(mapped.duplicate()));
+    }
+
+    /**
+     * Returns the mapped bytes, so that lazily decoded articles can refer back to them.
+     *
+     * @return a buffer over the mapped file.
+     */
+    @Override
+    ByteBuffer getBytes() {
+        return mapped.duplicate();
+    }
+
+    /**
+     * Decodes the mapped bytes into a String. This defeats the purpose of mapping the file and is only
+     * meant for callers that cannot work from the parser directly.
+     *
+     * @return The content of the mapped file decoded as UTF-8.
+     */
+    @Override
+    public String getContent() {
+        return StandardCharsets.UTF_8.decode(mapped.duplicate()).toString();
+    }
+}
@@ -1,10 +1,19 @@
 package article_parser;
 
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.logging.Level;
 import java.util.logging.Logger;
+import java.util.zip.GZIPInputStream;
 
 /**
  * Represents a data structure for storing news content along with its source and format.
@@ -15,9 +24,40 @@ public class NewsForParse {
     private NewsFormat newsFormat;
     private String content;
 
+    /**
+     * Opens a news file for parsing without reading it into a String. A gzip-compressed file is detected by its
+     * magic number and inflated on a separate thread while the parser consumes the inflated bytes, so neither a
+     * temporary file nor the whole inflated content is ever produced. Any other file is memory-mapped.
+     *
+     * @param file   The file to open.
+     * @param format The format of the news content in the file.
+     * @param logger Logger to log any exceptions occurring while opening the file.
+     * @return A NewsForParse over the file, or null if the file could not be opened.
+     */
+    public static NewsForParse fromFile(File file, NewsFormat format, Logger logger) {
+        try {
+            BufferedInputStream in = new BufferedInputStream(Files.newInputStream(file.toPath()), 1 << 16);
+            try {
+                if (InflatingInputStream.isGzip(in)) {
+                    return new StreamNewsForParse(NewsSource.FILE, format, new InflatingInputStream(in), logger);
+                }
+            } catch (IOException ex) {
+                in.close();
+                throw ex;
+            }
+            in.close();
+        } catch (IOException ex) {
+            logger.log(Level.SEVERE, "Exception occurred while trying to open file: ", ex);
+            return null;
+        }
+        return MappedNewsForParse.fromFile(file, format, logger);
+    }
+
     /**
      * Reads the entire content of a file into a String. This method is particularly useful for obtaining text data
-     * from files that are intended to be parsed as news content.
+     * from files that are intended to be parsed as news content. The file is decoded as UTF-8, like the mapped
+     * path in fromFile, regardless of the platform charset. Gzip-compressed files are inflated first; use
+     * fromFile instead to parse them without holding the inflated content in memory.
      *
      * @param file   The file from which content is to be read.
      * @param logger Logger to log any exceptions or important events occurring during the file read operation.
@@ -25,7 +65,14 @@ public class NewsForParse {
      */
     public static String getStringFromFile(File file, Logger logger){
         try{
-            return new String(Files.readAllBytes(file.toPath()));
+            byte[] bytes = Files.readAllBytes(file.toPath());
+            if (bytes.length >= 2 && (bytes[0] & 0xFF) == (GZIPInputStream.GZIP_MAGIC & 0xFF) &&
+                    (bytes[1] & 0xFF) == GZIPInputStream.GZIP_MAGIC >>> 8) {
+                try (InputStream in = new GZIPInputStream(new ByteArrayInputStream(bytes))) {
+                    bytes = in.readAllBytes();
+                }
+            }
+            return new String(bytes, StandardCharsets.UTF_8);
         } catch (IOException ex) {
             logger.log(Level.SEVERE, "Exception occurred while trying to read file: ", ex);
         }
@@ -55,6 +102,38 @@ public class NewsForParse {
         return content;
     }
 
+    /**
+     * Creates a Jackson JsonParser over the content of the news. Variants that hold their content in another form
+     * than a String override this to feed the parser directly, without materializing the content as a String first.
+     *
+     * @param factory the JsonFactory used to create the parser.
+     * @return a new JsonParser positioned before the first token of the content.
+     * @throws IOException if the content cannot be read.
+     */
+    protected JsonParser createParser(JsonFactory factory) throws IOException {
+        return factory.createParser(content);
+    }
+
+    /**
+     * Returns the raw UTF-8 bytes of the content for variants that hold them, allowing parts of the content to be
+     * decoded later from recorded offsets. The returned buffer starts at offset 0 of the content.
+     *
+     * @return a buffer over the content bytes, or null if the content is not byte-backed.
+     */
+    ByteBuffer getBytes() {
+        return null;
+    }
+
+    /**
+     * Returns the stream the content is read from for variants that hold one, allowing formats that are read
+     * line by line to be decoded without materializing the content. The stream can only be consumed once.
+     *
+     * @return the unread content stream, or null if the content is not stream-backed.
+     */
+    InputStream getStream() {
+        return null;
+    }
+
     /**
      * Returns the source of the news.
      *
@@ -2,5 +2,6 @@ package article_parser;
 
 public enum NewsFormat {
     NEWS_API,
-    SIMPLE
+    SIMPLE,
+    JSON_LINES
 }
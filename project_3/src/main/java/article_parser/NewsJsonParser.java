@@ -1,16 +1,38 @@
 package article_parser;
 
+import com.fasterxml.jackson.annotation.JsonTypeInfo;
+import com.fasterxml.jackson.core.JsonLocation;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonStreamContext;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.JsonMappingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.util.ByteBufferBackedInputStream;
+import news_metrics.DropReason;
+import news_metrics.NewsMetrics;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.PushbackReader;
+import java.io.SequenceInputStream;
+import java.io.StringReader;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.EnumMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -19,9 +41,33 @@ import java.util.logging.Logger;
  * This parser is designed to work with a specific JSON structure expected in the news data and populates an ArticleStorage instance.
  */
 public class NewsJsonParser implements NewsVisitor {
+    private static final ObjectMapper DEDUCING_MAPPER = createObjectMapper();
+    private static final ObjectMapper DIRECT_MAPPER = createObjectMapper()
+            .addMixIn(Article.class, NoTypeInfoMixIn.class)
+            .addMixIn(ArticleStorage.class, NoTypeInfoMixIn.class);
+    private static final ObjectReader DEDUCING_READER = DEDUCING_MAPPER.readerFor(ArticleStorage.class);
+    private static final Map<NewsFormat, ObjectReader> FORMAT_READERS = createFormatReaders();
+    private static final int JSON_LINES_CHUNK_BYTES = 1 << 20;
+    private static final String RESUME_PREFIX = "{\"articles\":[";
+    private static final byte[] RESUME_PREFIX_BYTES = RESUME_PREFIX.getBytes(StandardCharsets.UTF_8);
+    private static final int RESUME_SCAN_BYTES = 1 << 13;
+    // States of the scan for the next element after a syntax error, see nextScanState
+    private static final int SCANNING = 0;
+    private static final int AFTER_OBJECT = 1;
+    private static final int AFTER_COMMA = 2;
+    private static final int RESUME_FOUND = 3;
+
     private final Logger logger;
     private boolean parsingComplete;
     private ArticleStorage articleStorage;
+    private String status;
+    private Integer totalResults;
+    private boolean lazyBodies;
+    private ArticleFilter articleFilter;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+    private final List<ArticleError> articleErrors = new ArrayList<>();
+    private int decodedArticles;
+    private boolean incompleteRecorded;
 
     /**
      * Constructs a NewsJsonParser with a specified logger.
@@ -36,39 +82,617 @@ public class NewsJsonParser implements NewsVisitor {
 
     /**
      * Parses the JSON data provided by the NewsForParse object into an ArticleStorage instance.
-     * This method configures the ObjectMapper to be lenient with ignored and unknown properties to avoid parsing errors.
+     * NEWS_API payloads are decoded an article at a time through streamArticles, so a malformed article is
+     * recorded as an ArticleError and skipped without failing the rest of the document. Other formats select a
+     * prebuilt ObjectReader that binds straight to the matching ArticleStorage implementation, so Jackson does not
+     * have to buffer every object to deduce its subtype, and payloads without a known format fall back to subtype
+     * deduction. JSON_LINES content is split at line boundaries and decoded in parallel by a JsonLinesReader.
+     * All readers are lenient with ignored and unknown properties.
      * The parsing process captures and logs errors without throwing exceptions, allowing the parsing process to be robust.
      *
+     * The document, its size, parse time and decoded and dropped articles are recorded in NewsMetrics.PARSER.
+     *
      * @param news the NewsForParse object containing the JSON data to be parsed.
      * @return true if the parsing completes successfully, false otherwise.
      */
     public boolean parseArticles(NewsForParse news) {
-        ObjectMapper objectMapper = new ObjectMapper();
-        objectMapper.configure(DeserializationFeature.FAIL_ON_IGNORED_PROPERTIES, false);
-        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
-        try {
-            articleStorage = objectMapper.readValue(news.getContent(), ArticleStorage.class);
-            parsingComplete = true;
+        long start = System.nanoTime();
+        boolean parsed = parseDocument(news);
+        NewsMetrics.PARSER.recordDocument(parsed, System.nanoTime() - start);
+        return parsed;
+    }
+
+    /**
+     * Parses a document with the reader that matches its format.
+     *
+     * @param news the NewsForParse object containing the JSON data to be parsed.
+     * @return true if the parsing completes successfully, false otherwise.
+     */
+    private boolean parseDocument(NewsForParse news) {
+        if (news.getNewsFormat() == NewsFormat.JSON_LINES) {
+            return parseJsonLines(news);
+        }
+        if (news.getNewsFormat() == NewsFormat.NEWS_API) {
+            List<FullArticle> articles = new ArrayList<>();
+            if (streamDocument(news, articles::add)) {
+                complete(new FullArticleStorage(articles, totalResults, status), articles.size());
+            }
+            return parsingComplete;
+        }
+
+        status = null;
+        totalResults = null;
+        articleErrors.clear();
+        ObjectReader reader = FORMAT_READERS.getOrDefault(news.getNewsFormat(), DEDUCING_READER);
+        try (JsonParser parser = news.createParser(reader.getFactory())) {
+            ArticleStorage storage = reader.readValue(parser);
+            if (storage instanceof FullArticleStorage fullStorage) {
+                status = fullStorage.getStatus();
+                totalResults = fullStorage.getTotalResults();
+            }
+            recordParsedBytes(parser, 0);
+            List<Article> articles = storage.getArticles(false, logger);
+            int rejected = 0;
+            if (articleFilter != null) {
+                List<Article> accepted = new ArrayList<>(articles.size());
+                for (Article article : articles) {
+                    Source source = article instanceof FullArticle fullArticle ? fullArticle.getSource() : null;
+                    if (articleFilter.accepts(article.getMissingFields(), source)) accepted.add(article);
+                }
+                rejected = articles.size() - accepted.size();
+                if (rejected > 0) {
+                    storage = new FullArticleStorage(accepted, totalResults, status);
+                    articles = accepted;
+                }
+            }
+            NewsMetrics.PARSER.addArticlesDecoded(articles.size());
+            recordSkippedArticles(rejected);
+            complete(storage, articles.size());
         } catch (JsonMappingException ex) {
             logger.log(Level.WARNING, "JsonMappingException occurred while parsing: ", ex);
+            recordMalformedDocument(ex);
         } catch (JsonProcessingException ex) {
             logger.log(Level.WARNING, "JsonProcessingException occurred while parsing: ", ex);
+            recordMalformedDocument(ex);
+        } catch (IOException ex) {
+            logger.log(Level.WARNING, "IOException occurred while parsing: ", ex);
         }
         return parsingComplete;
     }
 
+    /**
+     * Parses JSON_LINES content, one article per line, in parallel. Memory-mapped content is split in place;
+     * stream-backed content, such as a gzip-compressed file, is read and decoded a block of lines at a time; other
+     * content is encoded to UTF-8 first. Malformed lines are recorded as ArticleErrors and skipped, while content
+     * that cannot be read to its end, such as a truncated gzip file, fails the parse.
+     *
+     * @param news the NewsForParse object containing the JSON_LINES data to be parsed.
+     * @return true if the parsing completes successfully, false otherwise.
+     */
+    private boolean parseJsonLines(NewsForParse news) {
+        status = null;
+        totalResults = null;
+        articleErrors.clear();
+        JsonLinesReader reader = new JsonLinesReader(parallelism, JSON_LINES_CHUNK_BYTES);
+        try {
+            JsonLinesReader.Chunk result;
+            ByteBuffer bytes = news.getBytes();
+            InputStream stream = bytes == null ? news.getStream() : null;
+            if (stream != null) {
+                try (InputStream in = stream) {
+                    result = reader.read(in, articleFilter);
+                }
+            } else {
+                boolean lazy = lazyBodies && bytes != null;
+                if (bytes == null) {
+                    String content = news.getContent();
+                    if (content == null) {
+                        logger.log(Level.WARNING, "No JSON_LINES content to parse.");
+                        return false;
+                    }
+                    bytes = ByteBuffer.wrap(content.getBytes(StandardCharsets.UTF_8));
+                }
+                result = reader.read(bytes, articleFilter, lazy);
+            }
+            articleErrors.addAll(result.errors);
+            NewsMetrics.PARSER.addBytesParsed(result.bytes);
+            NewsMetrics.PARSER.addArticlesDecoded(result.articles.size());
+            recordSkippedArticles(result.rejected);
+            complete(new FullArticleStorage(result.articles, null, null), result.articles.size());
+        } catch (IOException ex) {
+            logger.log(Level.WARNING, "IOException occurred while reading JSON_LINES: ", ex);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            logger.log(Level.WARNING, "JSON_LINES parsing was interrupted: ", ex);
+        } catch (ExecutionException ex) {
+            logger.log(Level.SEVERE, "Exception occurred while parsing JSON_LINES: ", ex);
+        }
+        return parsingComplete;
+    }
+
+    /**
+     * Streams the articles of a NEWS_API formatted payload to the given consumer as soon as each one is decoded.
+     * Unlike parseArticles, the articles array is walked token by token, so no ArticleStorage is built and only the
+     * article currently being decoded is held by the parser. The top-level status and totalResults fields are
+     * recorded as they are encountered and can be read through getStatus and getTotalResults once this method returns.
+     * Articles are handed over unfiltered unless an article filter is set, in which case rejected articles are
+     * skipped while decoding; otherwise consumers that only want complete articles should check allFieldsFilled.
+     * An article that cannot be decoded is recorded as an ArticleError, available through getArticleErrors, and
+     * the parser skips ahead to the next element of the array. A syntax error inside the array is recorded the same
+     * way and the parser resumes at the next element boundary after it, whether the content is memory-mapped, a
+     * String or a stream such as an HTTP body or an inflating gzip file.
+     *
+     * @param news     the NewsForParse object containing the NEWS_API formatted JSON data.
+     * @param consumer the consumer that receives each decoded article in document order.
+     * @return true if the payload was streamed to its end or up to an unrecoverable syntax error in the articles array, false otherwise.
+     */
+    public boolean streamArticles(NewsForParse news, Consumer<? super FullArticle> consumer) {
+        long start = System.nanoTime();
+        boolean streamed = streamDocument(news, consumer);
+        NewsMetrics.PARSER.recordDocument(streamed, System.nanoTime() - start);
+        return streamed;
+    }
+
+    /**
+     * Streams the articles of a NEWS_API formatted payload to the given consumer, as described for streamArticles.
+     * After a syntax error in the articles array, a new parser is started at the resume point found by one of the
+     * findResumePoint variants, and the remaining elements and top-level fields are read from it. Offsets are kept
+     * relative to the start of the content, in bytes for byte-backed and stream content and in chars for a String.
+     * Stream content cannot be read again, so the bytes the failed parser read ahead are pushed back onto a
+     * PushbackStream, which the scan and every later parser then read from.
+     *
+     * @param news     the NewsForParse object containing the NEWS_API formatted JSON data.
+     * @param consumer the consumer that receives each decoded article in document order.
+     * @return true if the payload was streamed to its end or up to an unrecoverable syntax error in the articles array, false otherwise.
+     */
+    private boolean streamDocument(NewsForParse news, Consumer<? super FullArticle> consumer) {
+        status = null;
+        totalResults = null;
+        articleErrors.clear();
+        if (news.getNewsFormat() != NewsFormat.NEWS_API) {
+            logger.log(Level.WARNING, "Streaming is only supported for the NEWS_API format, got: " + news.getNewsFormat());
+            return false;
+        }
+
+        ByteBuffer content = news.getBytes();
+        InputStream stream = content == null ? news.getStream() : null;
+        String text = content == null && stream == null ? news.getContent() : null;
+        ByteBuffer bodies = lazyBodies ? content : null;
+        ArticleDecoder decoder = new ArticleDecoder(bodies, articleFilter);
+        PushbackStream pushback = null;
+        long resumeAt = -1;
+        try {
+            while (true) {
+                long base = resumeAt < 0 ? 0 : resumeAt - RESUME_PREFIX.length();
+                int firstIndex = resumeAt < 0 ? 0 : articleErrors.get(articleErrors.size() - 1).getIndex() + 1;
+                boolean inArticles = false;
+                try (JsonParser parser = resumeAt < 0 ? news.createParser(DIRECT_MAPPER.getFactory())
+                        : createResumedParser(content, text, pushback, resumeAt)) {
+                    try {
+                        if (parser.nextToken() != JsonToken.START_OBJECT) {
+                            logger.log(Level.WARNING, "Expected a JSON object at the start of the NEWS_API payload.");
+                            return false;
+                        }
+                        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                            String field = parser.getCurrentName();
+                            JsonToken value = parser.nextToken();
+                            if ("status".equals(field)) {
+                                status = parser.getValueAsString();
+                            } else if ("totalResults".equals(field)) {
+                                totalResults = value == JsonToken.VALUE_NULL ? null : parser.getValueAsInt();
+                            } else if ("articles".equals(field) && value == JsonToken.START_ARRAY) {
+                                inArticles = true;
+                                readArticleArray(parser, base, decoder, firstIndex, consumer);
+                                inArticles = false;
+                            } else {
+                                parser.skipChildren();
+                            }
+                        }
+                        recordParsedBytes(parser, base);
+                        return true;
+                    } catch (JsonParseException ex) {
+                        if (!inArticles) throw ex;
+                        if (stream != null) {
+                            // Keep the stream open past this parser and take back the bytes it read ahead
+                            parser.disable(JsonParser.Feature.AUTO_CLOSE_SOURCE);
+                            if (pushback == null) pushback = new PushbackStream(stream);
+                            // Releasing moves the parser past the released bytes, so their offset is taken first
+                            long from = base + parser.getCurrentLocation().getByteOffset();
+                            ByteArrayOutputStream readAhead = new ByteArrayOutputStream();
+                            parser.releaseBuffered(readAhead);
+                            pushback.unread(readAhead.toByteArray(), 0, readAhead.size());
+                            resumeAt = findResumePoint(pushback, from, resumeAt);
+                        } else {
+                            JsonLocation location = ex.getLocation();
+                            long failedAt = location == null ? -1 : offsetOf(location);
+                            long from = Math.max(resumeAt + 1, failedAt < 0 ? 0 : base + failedAt);
+                            resumeAt = content != null ? findResumePoint(content, (int) from)
+                                    : text != null ? findResumePoint(text, (int) from) : -1;
+                        }
+                        if (resumeAt < 0) {
+                            logger.log(Level.WARNING, "Cannot resume streaming past a syntax error in the articles array, "
+                                    + "keeping the articles decoded before it: ", ex);
+                            recordParsedBytes(parser, base);
+                            return true;
+                        }
+                    }
+                }
+            }
+        } catch (JsonMappingException ex) {
+            logger.log(Level.WARNING, "JsonMappingException occurred while streaming: ", ex);
+        } catch (IOException ex) {
+            logger.log(Level.WARNING, "IOException occurred while streaming: ", ex);
+        } finally {
+            recordSkippedArticles(decoder.getRejected());
+            if (pushback != null) {
+                try {
+                    pushback.close();
+                } catch (IOException ex) {
+                    logger.log(Level.WARNING, "IOException occurred while closing the news stream: ", ex);
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Decodes the elements of the articles array one at a time, starting with the parser on the array's START_ARRAY
+     * token and leaving it on the matching END_ARRAY token. Elements are decoded by an ArticleDecoder, which interns
+     * authors within the document, applies the article filter and, when decoding lazily from bytes, leaves
+     * description and content undecoded until they are first read. An element that cannot be bound is recorded as
+     * an ArticleError and the parser is moved past the rest of it, back to the level of the array. A syntax error is
+     * recorded as an ArticleError for the element it occurred in and rethrown, since the parser cannot go past it.
+     *
+     * @param parser     the JsonParser positioned at the start of the articles array.
+     * @param base       the offset within the content at which the parser's input starts.
+     * @param decoder    the decoder that builds each article.
+     * @param firstIndex the index within the whole array of the first element the parser reads.
+     * @param consumer   the consumer that receives each decoded article.
+     * @throws IOException if the underlying content cannot be read or is not well-formed JSON.
+     */
+    private void readArticleArray(JsonParser parser, long base, ArticleDecoder decoder, int firstIndex,
+                                  Consumer<? super FullArticle> consumer) throws IOException {
+        JsonStreamContext arrayContext = parser.getParsingContext();
+        int decoded = 0;
+        int index = firstIndex;
+        JsonLocation start = parser.getCurrentLocation();
+        try {
+            JsonToken token;
+            while ((token = parser.nextToken()) != JsonToken.END_ARRAY) {
+                start = parser.getTokenLocation();
+                if (token != JsonToken.VALUE_NULL) {
+                    try {
+                        if (token != JsonToken.START_OBJECT) {
+                            throw JsonMappingException.from(parser, "Expected an article object, got: " + token);
+                        }
+                        // Only byte-backed content, which is at most 2 GiB, is decoded lazily from offsets
+                        FullArticle article = decoder.decode(parser, (int) base);
+                        if (article != null) {
+                            decoded++;
+                            consumer.accept(article);
+                        }
+                    } catch (JsonMappingException ex) {
+                        articleErrors.add(articleError(index, start, base, ex));
+                        while (parser.getParsingContext() != arrayContext && parser.nextToken() != null) {
+                            // Skip the remaining tokens of the malformed element
+                        }
+                    }
+                }
+                index++;
+                start = parser.getCurrentLocation();
+            }
+        } catch (JsonParseException ex) {
+            articleErrors.add(articleError(index, start, base, ex));
+            throw ex;
+        } finally {
+            NewsMetrics.PARSER.addArticlesDecoded(decoded);
+        }
+    }
+
+    /**
+     * Creates the ArticleError for an element of the articles array.
+     *
+     * @param index the index of the element within the whole array.
+     * @param start the location at which the element starts, relative to the parser's input.
+     * @param base  the offset within the content at which the parser's input starts.
+     * @param ex    the exception the element caused.
+     * @return the ArticleError with its byte or char offset relative to the start of the content.
+     */
+    private static ArticleError articleError(int index, JsonLocation start, long base, JsonProcessingException ex) {
+        long byteOffset = start.getByteOffset() < 0 ? -1 : base + start.getByteOffset();
+        long charOffset = start.getCharOffset() < 0 ? -1 : base + start.getCharOffset();
+        return new ArticleError(index, byteOffset, charOffset, ex.getOriginalMessage());
+    }
+
+    /**
+     * Returns the offset of a location within the parser's input, in bytes if the parser reads bytes and in chars
+     * otherwise.
+     *
+     * @param location the location.
+     * @return the byte or char offset, or -1 if neither is known.
+     */
+    private static long offsetOf(JsonLocation location) {
+        return location.getByteOffset() >= 0 ? location.getByteOffset() : location.getCharOffset();
+    }
+
+    /**
+     * Finds where streaming can resume after a syntax error in the articles array, scanning forward for the end of
+     * an element followed by the start of the next one, or by the end of the array. The scan does not track
+     * strings, so it may resume inside one; the resumed parser then fails again and streaming resumes further on.
+     *
+     * @param content the content bytes, starting at offset 0.
+     * @param from    the offset to scan from.
+     * @return the offset of the next element's opening brace or of the array's closing bracket, or -1 if there is none.
+     */
+    private static int findResumePoint(ByteBuffer content, int from) {
+        int state = SCANNING;
+        for (int i = Math.max(from, 0); i < content.limit(); i++) {
+            state = nextScanState(state, content.get(i));
+            if (state == RESUME_FOUND) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Finds where streaming can resume after a syntax error in the articles array of String content, scanning
+     * as findResumePoint does for bytes.
+     *
+     * @param content the content.
+     * @param from    the char offset to scan from.
+     * @return the offset of the next element's opening brace or of the array's closing bracket, or -1 if there is none.
+     */
+    private static int findResumePoint(String content, int from) {
+        int state = SCANNING;
+        for (int i = Math.max(from, 0); i < content.length(); i++) {
+            state = nextScanState(state, content.charAt(i));
+            if (state == RESUME_FOUND) return i;
+        }
+        return -1;
+    }
+
+    /**
+     * Finds where streaming can resume after a syntax error in the articles array of stream content, scanning
+     * as findResumePoint does for bytes. The bytes up to the resume point are consumed; the resume point and the
+     * bytes read past it are pushed back, so that the stream is left positioned on the resume point.
+     *
+     * @param in    the stream, positioned at the offset to scan from.
+     * @param from  the offset of the stream's position within the content.
+     * @param after the last resume point, which is skipped so that streaming keeps moving forward, or -1.
+     * @return the offset of the next element's opening brace or of the array's closing bracket, or -1 if the
+     *         stream ends first.
+     * @throws IOException if the stream cannot be read.
+     */
+    private static long findResumePoint(PushbackStream in, long from, long after) throws IOException {
+        byte[] buffer = new byte[RESUME_SCAN_BYTES];
+        int state = SCANNING;
+        long offset = from;
+        int read;
+        while ((read = in.read(buffer)) >= 0) {
+            for (int i = 0; i < read; i++) {
+                state = nextScanState(state, buffer[i]);
+                if (state == RESUME_FOUND) {
+                    if (offset + i > after) {
+                        in.unread(buffer, i, read - i);
+                        return offset + i;
+                    }
+                    state = SCANNING;
+                }
+            }
+            offset += read;
+        }
+        return -1;
+    }
+
+    /**
+     * Advances the scan for a resume point by one byte or char. The scan looks for a closing brace followed, past
+     * any whitespace, by either the array's closing bracket or a comma and the next element's opening brace.
+     *
+     * @param state the state before c: SCANNING, AFTER_OBJECT or AFTER_COMMA.
+     * @param c     the next byte or char of the content.
+     * @return the state after c, RESUME_FOUND if c is the resume point.
+     */
+    private static int nextScanState(int state, int c) {
+        if (state != SCANNING && (c == ' ' || c == '\t' || c == '\n' || c == '\r')) return state;
+        if (state == AFTER_OBJECT && c == ']' || state == AFTER_COMMA && c == '{') return RESUME_FOUND;
+        if (state == AFTER_OBJECT && c == ',') return AFTER_COMMA;
+        return c == '}' ? AFTER_OBJECT : SCANNING;
+    }
+
+    /**
+     * Creates a parser that resumes streaming at an offset found by findResumePoint. The parser reads RESUME_PREFIX
+     * followed by the content from that offset on, so it sees the rest of the articles array and the fields after it
+     * as part of an articles field of a top-level object. Its offsets are therefore shifted by the prefix length.
+     * Exactly one of content, text and stream holds the content.
+     *
+     * @param content  the content bytes, starting at offset 0, or null.
+     * @param text     the content as a String, or null.
+     * @param stream   the content stream, positioned on the resume point, or null.
+     * @param resumeAt the offset to resume at.
+     * @return a new JsonParser positioned before the opening brace of the prefix.
+     * @throws IOException if the parser cannot be created.
+     */
+    private static JsonParser createResumedParser(ByteBuffer content, String text, PushbackStream stream,
+                                                  long resumeAt) throws IOException {
+        if (content != null) {
+            ByteBuffer rest = content.duplicate().position((int) resumeAt);
+            return DIRECT_MAPPER.getFactory().createParser(new SequenceInputStream(
+                    new ByteArrayInputStream(RESUME_PREFIX_BYTES), new ByteBufferBackedInputStream(rest)));
+        }
+        if (text != null) {
+            PushbackReader rest = new PushbackReader(new StringReader(text), RESUME_PREFIX.length());
+            rest.skip(resumeAt);
+            rest.unread(RESUME_PREFIX.toCharArray());
+            return DIRECT_MAPPER.getFactory().createParser(rest);
+        }
+        stream.unread(RESUME_PREFIX_BYTES, 0, RESUME_PREFIX_BYTES.length);
+        return DIRECT_MAPPER.getFactory().createParser(stream);
+    }
+
+    /**
+     * Keeps the articles of a successfully parsed document for getArticles.
+     *
+     * @param storage the parsed articles.
+     * @param decoded the number of articles in the storage, before getArticles drops the incomplete ones.
+     */
+    private void complete(ArticleStorage storage, int decoded) {
+        articleStorage = storage;
+        decodedArticles = decoded;
+        incompleteRecorded = false;
+        parsingComplete = true;
+    }
+
+    /**
+     * Records a document that could not be bound as a single malformed article, since the number of articles it
+     * held cannot be known.
+     *
+     * @param ex the exception that ended binding.
+     */
+    private void recordMalformedDocument(JsonProcessingException ex) {
+        JsonLocation location = ex.getLocation();
+        articleErrors.add(new ArticleError(0, location == null ? -1 : location.getByteOffset(),
+                location == null ? -1 : location.getCharOffset(), ex.getOriginalMessage()));
+        recordSkippedArticles(0);
+    }
+
+    /**
+     * Records the amount of content a parser has consumed, in bytes for byte-backed content and in characters
+     * otherwise.
+     *
+     * @param parser the parser that has finished reading the document.
+     * @param base   the offset within the content at which the parser's input starts.
+     */
+    private static void recordParsedBytes(JsonParser parser, long base) {
+        NewsMetrics.PARSER.addBytesParsed(base + offsetOf(parser.getCurrentLocation()));
+    }
+
+    /**
+     * Logs and records the articles that were rejected by the article filter or recorded as malformed.
+     *
+     * @param rejected the number of articles the filter rejected.
+     */
+    private void recordSkippedArticles(int rejected) {
+        NewsMetrics.PARSER.addArticlesDropped(DropReason.FILTERED, rejected);
+        NewsMetrics.PARSER.addArticlesDropped(DropReason.MALFORMED, articleErrors.size());
+        if (rejected > 0) {
+            logger.log(Level.WARNING, String.format("Removed %d article(s) rejected by the article filter.", rejected));
+        }
+        if (!articleErrors.isEmpty()) {
+            logger.log(Level.WARNING, String.format("Skipped %d malformed article(s): %s", articleErrors.size(), articleErrors));
+        }
+    }
+
+    /**
+     * Creates an ObjectMapper that is lenient with ignored and unknown properties to avoid parsing errors.
+     *
+     * @return a configured ObjectMapper.
+     */
+    private static ObjectMapper createObjectMapper() {
+        ObjectMapper objectMapper = new ObjectMapper();
+        objectMapper.configure(DeserializationFeature.FAIL_ON_IGNORED_PROPERTIES, false);
+        objectMapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        return objectMapper;
+    }
+
+    /**
+     * Builds the ObjectReader used for each news format that is bound as a whole document. The readers bind
+     * directly to the concrete ArticleStorage implementation with type information switched off, which skips
+     * subtype deduction. NEWS_API is absent because it is streamed an article at a time.
+     *
+     * @return a map from each whole-document NewsFormat to its ObjectReader.
+     */
+    private static Map<NewsFormat, ObjectReader> createFormatReaders() {
+        Map<NewsFormat, ObjectReader> readers = new EnumMap<>(NewsFormat.class);
+        readers.put(NewsFormat.SIMPLE, DIRECT_MAPPER.readerFor(SimpleArticleStorage.class));
+        return readers;
+    }
+
     /**
      * Retrieves a list of articles that have been successfully parsed from the JSON data.
      * If the parsing has not been completed or was unsuccessful, this method returns an empty list.
      * This ensures that the method can be safely called without checking parsing status first.
+     * The first call after each parse records the incomplete articles it leaves out in NewsMetrics.PARSER.
      *
      * @return a list of Article objects if parsing was successful, or an empty list if parsing was not completed or failed.
      */
     public List<Article> getArticles(){
         if(parsingComplete){
-            return new ArrayList<>(articleStorage.getArticles(true, logger));
+            List<Article> articles = articleStorage.getArticles(true, logger);
+            if (!incompleteRecorded) {
+                NewsMetrics.PARSER.addArticlesDropped(DropReason.INCOMPLETE, decodedArticles - articles.size());
+                incompleteRecorded = true;
+            }
+            return articles;
         }
         return Collections.emptyList();
     }
 
+    /**
+     * Enables or disables lazily decoded article bodies. When enabled and the news content is byte-backed, such as
+     * a memory-mapped file, NEWS_API and JSON_LINES articles are decoded as LazyFullArticle instances whose
+     * description and content are only decoded when first read. Other content is parsed eagerly as before.
+     *
+     * @param lazyBodies true to defer decoding of description and content where possible.
+     */
+    public void setLazyBodies(boolean lazyBodies) {
+        this.lazyBodies = lazyBodies;
+    }
+
+    /**
+     * Returns the articles of the last parsed or streamed payload that could not be decoded and were skipped.
+     * A SIMPLE or deduced document that cannot be bound at all is recorded as a single error at index 0.
+     *
+     * @return a copy of the recorded errors in document order, empty if every article was decoded
+     */
+    public List<ArticleError> getArticleErrors() {
+        return new ArrayList<>(articleErrors);
+    }
+
+    /**
+     * Sets a filter that articles must pass. NEWS_API and JSON_LINES articles are filtered while decoding, so
+     * rejected articles are skipped without being built, and kept articles carry a missing-field mask computed
+     * during decoding. Articles of other formats are filtered once the document has been bound.
+     *
+     * @param articleFilter the filter to apply, or null to keep every article
+     */
+    public void setArticleFilter(ArticleFilter articleFilter) {
+        this.articleFilter = articleFilter;
+    }
+
+    /**
+     * Sets the maximum number of threads used to decode JSON_LINES content.
+     *
+     * @param parallelism the number of byte ranges decoded at the same time, at least 1.
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1, got: " + parallelism);
+        }
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Returns the status reported by the last parsed or streamed NEWS_API payload.
+     *
+     * @return the status string (e.g., "ok"), or null if no such payload has been read or it carried no status.
+     */
+    public String getStatus() {
+        return status;
+    }
+
+    /**
+     * Returns the total number of results reported by the last parsed or streamed NEWS_API payload.
+     *
+     * @return the totalResults value, or null if no such payload has been read or it carried no totalResults.
+     */
+    public Integer getTotalResults() {
+        return totalResults;
+    }
+
+    /**
+     * Mix-in that overrides the DEDUCTION type information declared on Article and ArticleStorage, so that
+     * readers built from DIRECT_MAPPER bind to the requested class without buffering for subtype deduction.
+     */
+    @JsonTypeInfo(use = JsonTypeInfo.Id.NONE)
+    private abstract static class NoTypeInfoMixIn {
+    }
 }
@@ -2,13 +2,32 @@ package article_parser;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.FilterInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 import java.util.logging.FileHandler;
 import java.util.logging.Logger;
 import java.util.logging.SimpleFormatter;
+import java.util.zip.GZIPOutputStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -204,4 +223,670 @@ public class ParserTestSuite {
 
         assertFalse(a.allFieldsFilled());
     }
+
+    // Tests that streaming a NEWS_API payload hands every article to the consumer, unfiltered and in document order,
+    // and still reports the status and totalResults of the payload once the stream finishes.
+    @Test
+    public void testStreamArticles() {
+        NewsForParse news = new NewsForParse(NewsSource.FILE, NewsFormat.NEWS_API, NewsForParse.getStringFromFile(new File("inputs/short.json"), logger));
+        NewsJsonParser parser = new NewsJsonParser(logger);
+        List<FullArticle> streamed = new ArrayList<>();
+
+        assertTrue(parser.streamArticles(news, streamed::add), "Streaming should succeed");
+        assertEquals(2, streamed.size(), "Should stream both articles, including the incomplete one");
+        assertEquals("Ralph Ellis, CNN", streamed.get(1).getAuthor());
+        assertNull(streamed.get(1).getContent());
+        assertEquals("ok", parser.getStatus());
+        assertEquals(38, (int) parser.getTotalResults());
+    }
+
+    // Verifies that streaming rejects formats other than NEWS_API without invoking the consumer.
+    @Test
+    public void testStreamSimpleJsonRejected() {
+        NewsForParse news = new NewsForParse(NewsSource.FILE, NewsFormat.SIMPLE, NewsForParse.getStringFromFile(new File("inputs/simple.json"), logger));
+        NewsJsonParser parser = new NewsJsonParser(logger);
+        List<FullArticle> streamed = new ArrayList<>();
+
+        assertFalse(parser.streamArticles(news, streamed::add));
+        assertTrue(streamed.isEmpty());
+    }
+
+    // Checks that content without a known format still parses by falling back to subtype deduction,
+    // yielding full articles for NewsAPI payloads and a plain article for simple payloads.
+    @Test
+    public void testParseUnknownFormatFallsBackToDeduction() {
+        NewsForParse full = new NewsForParse(NewsSource.FILE, null, NewsForParse.getStringFromFile(new File("inputs/example.json"), logger));
+        NewsJsonParser fullParser = new NewsJsonParser(logger);
+        assertTrue(full.accept(fullParser));
+        assertEquals(10, fullParser.getArticles().size(), "Should be 10 validated articles");
+        for (Article a : fullParser.getArticles()) {
+            assertTrue(a instanceof FullArticle, "All articles should be full");
+        }
+
+        NewsForParse simple = new NewsForParse(NewsSource.FILE, null, NewsForParse.getStringFromFile(new File("inputs/simple.json"), logger));
+        NewsJsonParser simpleParser = new NewsJsonParser(logger);
+        assertTrue(simple.accept(simpleParser));
+        assertEquals(1, simpleParser.getArticles().size(), "Should be 1 article");
+        assertFalse(simpleParser.getArticles().get(0) instanceof FullArticle);
+    }
+
+    // Ensures that the declared format directs binding: a simple payload labelled as NEWS_API is not
+    // silently re-interpreted, so no articles are produced.
+    @Test
+    public void testParseMislabelledFormat() {
+        NewsForParse news = new NewsForParse(NewsSource.FILE, NewsFormat.NEWS_API, NewsForParse.getStringFromFile(new File("inputs/simple.json"), logger));
+        NewsJsonParser parser = new NewsJsonParser(logger);
+        news.accept(parser);
+
+        assertTrue(parser.getArticles().isEmpty(), "Should be 0 articles for a mislabelled payload");
+    }
+
+    // Tests that a memory-mapped file parses to the same articles as the String-backed path,
+    // and that its content can still be decoded to a String when needed.
+    @Test
+    public void testParseMappedFile() {
+        File file = new File("inputs/short.json");
+        NewsForParse mapped = MappedNewsForParse.fromFile(file, NewsFormat.NEWS_API, logger);
+        assertNotNull(mapped, "File should be mapped");
+        NewsJsonParser mappedParser = new NewsJsonParser(logger);
+        assertTrue(mapped.accept(mappedParser));
+
+        NewsForParse news = new NewsForParse(NewsSource.FILE, NewsFormat.NEWS_API, NewsForParse.getStringFromFile(file, logger));
+        NewsJsonParser parser = new NewsJsonParser(logger);
+        news.accept(parser);
+
+        assertEquals(parser.getArticles(), mappedParser.getArticles(), "Mapped and String content should parse alike");
+        assertEquals(news.getContent(), mapped.getContent());
+    }
+
+    // Ensures that mapping a file that does not exist is reported as null instead of throwing.
+    @Test
+    public void testMapMissingFile() {
+        assertNull(MappedNewsForParse.fromFile(new File("inputs/does_not_exist.json"), NewsFormat.NEWS_API, logger));
+    }
+
+    // Tests that a batch ingestion run parses every matching file, keeps per-file results in name order,
+    // and merges the articles of all files into one result set.
+    @Test
+    public void testBatchIngestDirectory() {
+        BatchIngester ingester = new BatchIngester(logger, 4);
+        BatchResult result = ingester.ingestDirectory(new File("inputs"), "{example,extra_fields,short}.json", NewsFormat.NEWS_API);
+
+        assertEquals(3, result.getFileResults().size());
+        assertEquals(3, result.getSucceeded());
+        assertEquals("example.json", result.getFileResults().get(0).getFile().getName());
+        assertEquals(10, result.getFileResults().get(0).getArticles().size());
+        assertEquals(13, result.getArticles().size(), "Should merge 10 + 2 + 1 articles");
+    }
+
+    // Verifies that a file which cannot be read is recorded as failed without stopping the rest of the batch.
+    @Test
+    public void testBatchIngestWithFailure() {
+        BatchIngester ingester = new BatchIngester(logger, 2);
+        BatchResult result = ingester.ingest(List.of(new File("inputs/does_not_exist.json"), new File("inputs/short.json")), NewsFormat.NEWS_API);
+
+        assertEquals(1, result.getSucceeded());
+        assertEquals(1, result.getFailed());
+        assertFalse(result.getFileResults().get(0).isSuccess());
+        assertTrue(result.getFileResults().get(1).isSuccess());
+        assertEquals(1, result.getArticles().size());
+    }
+
+    // Tests that articles repeated across batches are dropped by their normalized URL, keeping the first occurrence
+    // and the original order, while articles without a URL are always kept, and that the exact hash set grows up
+    // to its cap.
+    @Test
+    public void testDeduplicateArticles() {
+        ArticleDeduplicator deduplicator = new ArticleDeduplicator(16, logger);
+        Article first = new Article("One", "First", "2021-03-24T22:32:00Z", "https://www.cnn.com/2021/03/24/us/story/index.html");
+        Article repeat = new Article("One again", "Repeat", "2021-03-24T22:33:00Z", "http://cnn.com/2021/03/24/us/story/index.html/?utm_source=feed#top");
+        Article other = new Article("Two", "Second", "2021-03-24T22:34:00Z", "https://www.cnn.com/2021/03/24/us/other/index.html");
+        Article noUrl = new Article("Three", "Third", "2021-03-24T22:35:00Z", null);
+
+        List<Article> batch1 = deduplicator.deduplicate(List.of(first, other, noUrl));
+        List<Article> batch2 = deduplicator.deduplicate(List.of(repeat, noUrl));
+
+        assertEquals(List.of(first, other, noUrl), batch1);
+        assertEquals(List.of(noUrl), batch2, "The repeated story should be dropped across batches");
+
+        // The hash set keeps every value across resizes and reports when it cannot grow any further
+        LongHashSet hashes = new LongHashSet(1);
+        for (long i = 0; i < 1000; i++) {
+            assertTrue(hashes.add(i * 31));
+        }
+        for (long i = 0; i < 1000; i++) {
+            assertFalse(hashes.add(i * 31));
+        }
+        assertEquals(LongHashSet.MAX_CAPACITY, LongHashSet.grownCapacity(LongHashSet.MAX_CAPACITY >> 1));
+        assertThrows(IllegalStateException.class, () -> LongHashSet.grownCapacity(LongHashSet.MAX_CAPACITY));
+    }
+
+    // Verifies that the bounded, Bloom filter backed deduplicator also drops repeats of the same parsed feed.
+    @Test
+    public void testBoundedDeduplicateArticles() {
+        NewsForParse news = new NewsForParse(NewsSource.FILE, NewsFormat.NEWS_API, NewsForParse.getStringFromFile(new File("inputs/example.json"), logger));
+        NewsJsonParser parser = new NewsJsonParser(logger);
+        news.accept(parser);
+
+        ArticleDeduplicator deduplicator = new ArticleDeduplicator(1000, 0.001, logger);
+        assertEquals(10, deduplicator.deduplicate(parser.getArticles()).size());
+        assertTrue(deduplicator.deduplicate(parser.getArticles()).isEmpty(), "A second copy of the feed should be fully dropped");
+    }
+
+    // Tests that equal sources decoded from different articles share one canonical instance even after a large
+    // load has filled the shared pools, that equal authors share one String within a decoded document, and that
+    // a full pool evicts values that were not looked up again.
+    @Test
+    public void testInternedSourcesAndAuthors() {
+        for (int i = 0; i < (1 << 16) + 5000; i++) {
+            Source.intern("flood-" + i, "Flood " + i);
+        }
+
+        NewsForParse news = new NewsForParse(NewsSource.FILE, NewsFormat.NEWS_API, NewsForParse.getStringFromFile(new File("inputs/extra_fields.json"), logger));
+        NewsJsonParser parser = new NewsJsonParser(logger);
+        news.accept(parser);
+
+        List<? extends Article> parsed = parser.getArticles();
+        FullArticle first = (FullArticle) parsed.get(0);
+        FullArticle second = (FullArticle) parsed.get(1);
+        assertSame(first.getSource(), second.getSource(), "Equal sources should share one instance");
+        assertSame(first.getSource().getName(), second.getSource().getName());
+        assertEquals(new Source("cnn", "CNN").hashCode(), first.getSource().hashCode());
+
+        String json = "{\"status\": \"ok\", \"articles\": [" +
+                "{\"author\": \"Ralph Ellis, CNN\", \"title\": \"A\"}, {\"author\": \"Ralph Ellis, CNN\", \"title\": \"B\"}]}";
+        NewsJsonParser decoding = new NewsJsonParser(logger);
+        List<FullArticle> streamed = new ArrayList<>();
+        assertTrue(decoding.streamArticles(new NewsForParse(NewsSource.FILE, NewsFormat.NEWS_API, json), streamed::add));
+        assertSame(streamed.get(0).getAuthor(), streamed.get(1).getAuthor(), "Equal authors should share one String");
+
+        InternPool<String> pool = new InternPool<>(2);
+        String kept = pool.intern("kept");
+        pool.intern("once");
+        assertSame(kept, pool.intern(new String("kept")));
+        pool.intern("new");
+        assertEquals(2, pool.size());
+        assertSame(kept, pool.intern(new String("kept")), "A value looked up again should survive eviction");
+        String evicted = new String("once");
+        assertSame(evicted, pool.intern(evicted), "A value not looked up again should have been evicted");
+    }
+
+    // Tests that lazily decoded articles from a mapped file defer their bodies but still compare equal to,
+    // filter like, and read the same as eagerly decoded articles.
+    @Test
+    public void testLazyArticleBodies() {
+        File file = new File("inputs/bad.json");
+        NewsJsonParser lazyParser = new NewsJsonParser(logger);
+        lazyParser.setLazyBodies(true);
+        assertTrue(MappedNewsForParse.fromFile(file, NewsFormat.NEWS_API, logger).accept(lazyParser));
+
+        NewsJsonParser parser = new NewsJsonParser(logger);
+        new NewsForParse(NewsSource.FILE, NewsFormat.NEWS_API, NewsForParse.getStringFromFile(file, logger)).accept(parser);
+
+        List<Article> lazy = lazyParser.getArticles();
+        List<Article> eager = parser.getArticles();
+        assertEquals(7, lazy.size(), "Should be 7 articles due to errors");
+        for (int i = 0; i < lazy.size(); i++) {
+            assertTrue(lazy.get(i) instanceof LazyFullArticle);
+            assertEquals(eager.get(i), lazy.get(i), "Lazy and eager articles should be equal");
+            assertEquals(eager.get(i).hashCode(), lazy.get(i).hashCode());
+            assertEquals(((FullArticle) eager.get(i)).getContent(), ((FullArticle) lazy.get(i)).getContent());
+        }
+        assertEquals("ok", lazyParser.getStatus());
+    }
+
+    // Tests that articles stored column-wise off-heap come back as views equal to the stored articles,
+    // keep their kind, and filter incomplete articles from the null bitmaps, and that column growth does not overflow.
+    @Test
+    public void testColumnarArticleStorage() {
+        NewsForParse news = new NewsForParse(NewsSource.FILE, NewsFormat.NEWS_API, NewsForParse.getStringFromFile(new File("inputs/bad.json"), logger));
+        NewsJsonParser parser = new NewsJsonParser(logger);
+        news.accept(parser);
+
+        List<Article> parsed = parser.getArticles();
+        ColumnarArticleStorage storage = new ColumnarArticleStorage(2);
+        storage.addAll(parsed);
+        storage.add(new FullArticle(null, "Author", "Title", "Description", "https://example.com", "2021-04-16 09:53:23.709229", null, "Caf\u00e9 \u2014 content"));
+        storage.add(new Article("Simple", "Simple description", "2021-03-24T22:32:00Z", "https://example.com/simple"));
+
+        assertEquals(parsed.size() + 2, storage.size());
+        List<Article> complete = storage.getArticles(true, logger);
+        assertEquals(parsed.size() + 1, complete.size(), "The article without a source or image should be filtered out");
+        for (int i = 0; i < parsed.size(); i++) {
+            assertTrue(complete.get(i) instanceof FullArticle);
+            assertEquals(parsed.get(i), complete.get(i), "Views should equal the stored articles");
+            assertEquals(parsed.get(i).hashCode(), complete.get(i).hashCode());
+        }
+
+        FullArticle noSource = (FullArticle) storage.get(parsed.size());
+        assertNull(noSource.getSource());
+        assertNull(noSource.getUrlToImage());
+        assertEquals("Caf\u00e9 \u2014 content", noSource.getContent());
+        Article simple = storage.get(parsed.size() + 1);
+        assertFalse(simple instanceof FullArticle);
+        assertEquals(new Article("Simple", "Simple description", "2021-03-24T22:32:00Z", "https://example.com/simple"), simple);
+        assertEquals(ArticleField.SOURCE.mask() | ArticleField.URL_TO_IMAGE.mask(), noSource.getMissingFields(),
+                "Views should report missing fields from the null bitmaps");
+        assertEquals(0, simple.getMissingFields());
+        for (int i = 0; i < 20; i++) {
+            storage.add(new Article("Simple " + i, null, null, null));
+        }
+        assertFalse(storage.get(storage.size() - 1) instanceof FullArticle, "Kinds should survive growing past the expected size");
+        assertEquals(noSource, storage.get(parsed.size()));
+
+        // Column buffers keep doubling past 1 GiB, are capped below 2 GiB and report when they are full
+        assertEquals(1_200_000_000, Utf8Column.grownCapacity(600_000_000, 600_000_001));
+        assertEquals(Utf8Column.MAX_CAPACITY, Utf8Column.grownCapacity(1 << 30, (1L << 30) + 1));
+        assertThrows(IllegalStateException.class, () -> Utf8Column.grownCapacity(Utf8Column.MAX_CAPACITY, Utf8Column.MAX_CAPACITY + 1L));
+        // Initial sizes for many expected rows are computed without overflow and capped the same way
+        assertEquals(Utf8Column.MAX_CAPACITY, Utf8Column.initialCapacity(20_000_000L * 200));
+        assertEquals(80_000_000, Utf8Column.initialCapacity(20_000_000L * Integer.BYTES));
+        Utf8Column column = new Utf8Column(2, 4);
+        column.append("a");
+        column.append(null);
+        column.truncate(1);
+        column.append("b");
+        assertEquals("b", column.get(1), "A truncated row should be reused, null bit included");
+    }
+
+    // Tests that a snapshot round-trips articles, status, totalResults and missing fields, and that a damaged
+    // snapshot is rejected instead of loaded.
+    @Test
+    public void testArticleSnapshot(@TempDir Path dir) throws IOException {
+        NewsForParse news = new NewsForParse(NewsSource.FILE, NewsFormat.NEWS_API, NewsForParse.getStringFromFile(new File("inputs/bad.json"), logger));
+        NewsJsonParser parser = new NewsJsonParser(logger);
+        news.accept(parser);
+        List<Article> articles = new ArrayList<>(parser.getArticles());
+        articles.add(new FullArticle(null, null, "Title", null, "https://example.com", "2021-04-16 09:53:23.709229", null, "Caf\u00e9"));
+        articles.add(new Article("Simple", null, "2021-03-24T22:32:00Z", "https://example.com/simple"));
+
+        File file = dir.resolve("articles.snapshot").toFile();
+        assertTrue(ArticleSnapshot.write(new FullArticleStorage(articles, 42, "ok"), file, logger));
+        FullArticleStorage loaded = ArticleSnapshot.load(file, logger);
+        assertNotNull(loaded);
+        assertEquals("ok", loaded.getStatus());
+        assertEquals(42, (int) loaded.getTotalResults());
+        assertEquals(articles, loaded.getArticles(false, logger), "Loaded articles should equal the written ones");
+        assertFalse(loaded.getArticles(false, logger).get(articles.size() - 1) instanceof FullArticle);
+
+        byte[] bytes = Files.readAllBytes(file.toPath());
+        bytes[bytes.length / 2] ^= 1;
+        Files.write(file.toPath(), bytes);
+        assertNull(ArticleSnapshot.load(file, logger), "A corrupted snapshot should not load");
+    }
+
+    // Tests that a completeness filter pushed into decoding keeps the same articles as filtering after parsing,
+    // for both eager and lazy decoding, and that a source filter and missing-field masks work.
+    @Test
+    public void testArticleFilterPushdown() {
+        File file = new File("inputs/bad.json");
+        NewsJsonParser parser = new NewsJsonParser(logger);
+        new NewsForParse(NewsSource.FILE, NewsFormat.NEWS_API, NewsForParse.getStringFromFile(file, logger)).accept(parser);
+        List<Article> expected = parser.getArticles();
+
+        NewsJsonParser eager = new NewsJsonParser(logger);
+        eager.setArticleFilter(ArticleFilter.completeArticles());
+        assertTrue(new NewsForParse(NewsSource.FILE, NewsFormat.NEWS_API, NewsForParse.getStringFromFile(file, logger)).accept(eager));
+        assertEquals(expected, eager.getArticles(), "Pushed-down filtering should keep the same articles");
+        assertEquals("ok", eager.getStatus());
+
+        NewsJsonParser lazy = new NewsJsonParser(logger);
+        lazy.setLazyBodies(true);
+        lazy.setArticleFilter(ArticleFilter.completeArticles());
+        assertTrue(MappedNewsForParse.fromFile(file, NewsFormat.NEWS_API, logger).accept(lazy));
+        assertEquals(expected, lazy.getArticles());
+
+        NewsJsonParser bySource = new NewsJsonParser(logger);
+        bySource.setArticleFilter(new ArticleFilter(EnumSet.noneOf(ArticleField.class), Set.of("cnn", "wired")));
+        List<FullArticle> streamed = new ArrayList<>();
+        assertTrue(bySource.streamArticles(new NewsForParse(NewsSource.FILE, NewsFormat.NEWS_API, NewsForParse.getStringFromFile(file, logger)), streamed::add));
+        assertFalse(streamed.isEmpty());
+        for (FullArticle article : streamed) {
+            assertTrue(Set.of("cnn", "wired").contains(article.getSource().getId()));
+        }
+
+        FullArticle missing = new FullArticle(null, null, "Title", "Description", "https://example.com", "2021-03-24T22:32:00Z", "https://example.com/image.jpg", null);
+        assertEquals(ArticleField.SOURCE.mask() | ArticleField.AUTHOR.mask() | ArticleField.CONTENT.mask(), missing.getMissingFields());
+        assertEquals(0, expected.get(0).getMissingFields());
+    }
+
+    // Tests that malformed articles are recorded with their index and offset and skipped, while the
+    // articles around them are still decoded, both with data binding and with the lazy decoder.
+    @Test
+    public void testMalformedArticlesAreIsolated(@TempDir Path dir) throws IOException {
+        String article = "{\"source\":{\"id\":\"cnn\",\"name\":\"CNN\"},\"author\":\"A\",\"title\":\"%s\",\"description\":\"D\"," +
+                "\"url\":\"https://example.com\",\"urlToImage\":\"https://example.com/i.jpg\",\"publishedAt\":\"2021-03-24T22:32:00Z\",\"content\":\"C\"}";
+        String json = "{\"status\":\"ok\",\"totalResults\":5,\"articles\":[" +
+                String.format(article, "First") + "," +
+                "{\"title\":{\"nested\":[1,{\"deep\":true}]},\"author\":\"B\"}," +
+                "\"not an article\"," +
+                String.format(article, "Fourth") + "]}";
+
+        NewsJsonParser parser = new NewsJsonParser(logger);
+        assertTrue(new NewsForParse(NewsSource.FILE, NewsFormat.NEWS_API, json).accept(parser));
+        List<Article> parsed = parser.getArticles();
+        assertEquals(2, parsed.size(), "The two valid articles should survive");
+        assertEquals("First", parsed.get(0).getTitle());
+        assertEquals("Fourth", parsed.get(1).getTitle());
+        assertEquals(5, (int) parser.getTotalResults());
+        List<ArticleError> errors = parser.getArticleErrors();
+        assertEquals(2, errors.size());
+        assertEquals(1, errors.get(0).getIndex());
+        assertEquals(2, errors.get(1).getIndex());
+        assertEquals(json.indexOf("{\"title\":{"), errors.get(0).getCharOffset());
+
+        Path file = dir.resolve("malformed.json");
+        Files.writeString(file, json);
+        NewsJsonParser lazy = new NewsJsonParser(logger);
+        lazy.setLazyBodies(true);
+        assertTrue(MappedNewsForParse.fromFile(file.toFile(), NewsFormat.NEWS_API, logger).accept(lazy));
+        assertEquals(parsed, lazy.getArticles());
+        assertEquals(2, lazy.getArticleErrors().size());
+        assertEquals(json.indexOf("{\"title\":{"), lazy.getArticleErrors().get(0).getByteOffset());
+    }
+
+    // Tests that a syntax error in the articles array is recovered from at the next element, whether the content
+    // is a String, memory-mapped, gzip-compressed or a stream read a few bytes at a time, still decoding later
+    // articles and the fields after the array.
+    @Test
+    public void testSyntaxErrorsAreRecovered(@TempDir Path dir) throws IOException {
+        String article = "{\"source\":{\"id\":\"cnn\",\"name\":\"CNN\"},\"author\":\"A\",\"title\":\"%s\",\"description\":\"D %1$s\"," +
+                "\"url\":\"https://example.com\",\"urlToImage\":\"https://example.com/i.jpg\",\"publishedAt\":\"2021-03-24T22:32:00Z\",\"content\":\"C %1$s\"}";
+        String json = "{\"status\":\"ok\",\"articles\":[" +
+                String.format(article, "First") + ",\n" +
+                "{\"title\":\"Broken\",\"author\" \"B\"},\n" +
+                String.format(article, "Third") + "," +
+                "{\"title\":\"Cut off},{\"author\":x}," +
+                String.format(article, "Fifth") + "],\"totalResults\":5}";
+
+        Path file = dir.resolve("broken.json");
+        Files.writeString(file, json);
+        Path compressed = dir.resolve("broken.json.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(compressed))) {
+            out.write(json.getBytes(StandardCharsets.UTF_8));
+        }
+        List<NewsForParse> payloads = List.of(
+                new NewsForParse(NewsSource.FILE, NewsFormat.NEWS_API, json),
+                MappedNewsForParse.fromFile(file.toFile(), NewsFormat.NEWS_API, logger),
+                NewsForParse.fromFile(compressed.toFile(), NewsFormat.NEWS_API, logger),
+                new StreamNewsForParse(NewsSource.URL, NewsFormat.NEWS_API, trickle(json.getBytes(StandardCharsets.UTF_8)), logger));
+        for (NewsForParse news : payloads) {
+            for (boolean lazyBodies : new boolean[]{false, true}) {
+                if (lazyBodies && news.getBytes() == null) continue;
+                NewsJsonParser parser = new NewsJsonParser(logger);
+                parser.setLazyBodies(lazyBodies);
+                assertTrue(news.accept(parser));
+                List<Article> articles = parser.getArticles();
+                assertEquals(List.of("First", "Third", "Fifth"), articles.stream().map(Article::getTitle).toList());
+                assertEquals("D Fifth", articles.get(2).getDescription());
+                assertEquals("C Third", ((FullArticle) articles.get(1)).getContent());
+                assertEquals("ok", parser.getStatus());
+                assertEquals(5, (int) parser.getTotalResults(), "Fields after the articles array should still be read");
+                List<ArticleError> errors = parser.getArticleErrors();
+                assertEquals(2, errors.size());
+                assertEquals(1, errors.get(0).getIndex());
+                assertEquals(3, errors.get(1).getIndex());
+                long offset = news.getBytes() == null && news.getStream() == null
+                        ? errors.get(0).getCharOffset() : errors.get(0).getByteOffset();
+                assertEquals(json.indexOf("{\"title\":\"Broken\""), offset);
+                offset = news.getBytes() == null && news.getStream() == null
+                        ? errors.get(1).getCharOffset() : errors.get(1).getByteOffset();
+                assertEquals(json.indexOf("{\"title\":\"Cut off"), offset, "Offsets after a resume should stay relative to the content");
+            }
+        }
+
+        // Many errors spread over content longer than the parser's buffers
+        StringBuilder many = new StringBuilder("{\"status\":\"ok\",\"articles\":[");
+        for (int i = 0; i < 300; i++) {
+            many.append(i % 10 == 5 ? "{\"title\":\"Broken " + i + "\" \"author\"}" : String.format(article, "Article " + i)).append(",\n");
+        }
+        many.setLength(many.length() - 2);
+        many.append("],\"totalResults\":300}");
+        byte[] manyBytes = many.toString().getBytes(StandardCharsets.UTF_8);
+        for (NewsForParse news : List.of(new NewsForParse(NewsSource.FILE, NewsFormat.NEWS_API, many.toString()),
+                new StreamNewsForParse(NewsSource.URL, NewsFormat.NEWS_API, new ByteArrayInputStream(manyBytes), logger),
+                new StreamNewsForParse(NewsSource.URL, NewsFormat.NEWS_API, trickle(manyBytes), logger))) {
+            NewsJsonParser parser = new NewsJsonParser(logger);
+            assertTrue(news.accept(parser));
+            assertEquals(270, parser.getArticles().size());
+            assertEquals("Article 299", parser.getArticles().get(269).getTitle());
+            assertEquals(30, parser.getArticleErrors().size());
+            assertEquals(295, parser.getArticleErrors().get(29).getIndex());
+            assertEquals(300, (int) parser.getTotalResults());
+        }
+    }
+
+    /**
+     * Returns a stream over bytes that hands out at most a few bytes per read, as a slow network body would.
+     *
+     * @param bytes the content of the stream
+     * @return the stream
+     */
+    private static InputStream trickle(byte[] bytes) {
+        return new FilterInputStream(new ByteArrayInputStream(bytes)) {
+            @Override
+            public int read(byte[] b, int off, int len) throws IOException {
+                return super.read(b, off, Math.min(len, 7));
+            }
+        };
+    }
+
+    // Tests that JSON_LINES content decodes one article per line, isolates a malformed line, and gives
+    // the same ordered result when split into many ranges and decoded in parallel.
+    @Test
+    public void testJsonLinesParallelParsing(@TempDir Path dir) throws Exception {
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < 300; i++) {
+            if (i == 150) {
+                lines.append("{\"title\": [broken\n\n");
+            }
+            lines.append(String.format("{\"source\":{\"id\":\"cnn\",\"name\":\"CNN\"},\"author\":\"A\",\"title\":\"Article %d\"," +
+                    "\"description\":\"D\",\"url\":\"https://example.com/%d\",\"urlToImage\":\"https://example.com/i.jpg\"," +
+                    "\"publishedAt\":\"2021-03-24T22:32:00Z\",\"content\":\"C\"}\r\n", i, i));
+        }
+        Path file = dir.resolve("articles.jsonl");
+        Files.writeString(file, lines);
+
+        NewsJsonParser parser = new NewsJsonParser(logger);
+        assertTrue(MappedNewsForParse.fromFile(file.toFile(), NewsFormat.JSON_LINES, logger).accept(parser));
+        List<Article> parsed = parser.getArticles();
+        assertEquals(300, parsed.size());
+        for (int i = 0; i < parsed.size(); i++) {
+            assertEquals("Article " + i, parsed.get(i).getTitle());
+        }
+        assertEquals(1, parser.getArticleErrors().size());
+        assertEquals(150, parser.getArticleErrors().get(0).getIndex());
+        assertEquals(lines.indexOf("{\"title\": [broken"), parser.getArticleErrors().get(0).getByteOffset());
+
+        JsonLinesReader.Chunk parallel = new JsonLinesReader(4, 64).read(ByteBuffer.wrap(Files.readAllBytes(file)), null, false);
+        assertEquals(parsed, new ArrayList<Article>(parallel.articles), "Parallel decoding should keep line order");
+        assertEquals(150, parallel.errors.get(0).getIndex());
+        assertEquals(parser.getArticleErrors().get(0).getByteOffset(), parallel.errors.get(0).getByteOffset());
+
+        NewsJsonParser lazy = new NewsJsonParser(logger);
+        lazy.setLazyBodies(true);
+        assertTrue(MappedNewsForParse.fromFile(file.toFile(), NewsFormat.JSON_LINES, logger).accept(lazy));
+        List<Article> lazyParsed = lazy.getArticles();
+        assertEquals(parsed, lazyParsed);
+        for (Article article : lazyParsed) {
+            assertTrue(article instanceof LazyFullArticle, "Mapped JSON_LINES should be decoded lazily");
+        }
+        assertEquals("C", ((FullArticle) lazyParsed.get(299)).getContent());
+        assertEquals("D", ((FullArticle) lazyParsed.get(299)).getDescription());
+
+        NewsJsonParser fromString = new NewsJsonParser(logger);
+        assertTrue(new NewsForParse(NewsSource.FILE, NewsFormat.JSON_LINES, lines.toString()).accept(fromString));
+        assertEquals(parsed, fromString.getArticles());
+    }
+
+    // Tests that a gzip-compressed JSON_LINES file is decoded line by line from the inflated stream with the same
+    // articles and error offsets as the plain file, and that a truncated one fails the parse and getContent
+    // instead of throwing.
+    @Test
+    public void testGzipCompressedJsonLines(@TempDir Path dir) throws IOException {
+        StringBuilder lines = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            if (i == 700) {
+                lines.append("{\"title\": [broken\n");
+            }
+            lines.append(String.format("{\"source\":{\"id\":\"cnn\",\"name\":\"CNN\"},\"author\":\"A\",\"title\":\"Article %d\"," +
+                    "\"description\":\"D\",\"url\":\"https://example.com/%d\",\"urlToImage\":\"https://example.com/i.jpg\"," +
+                    "\"publishedAt\":\"2021-03-24T22:32:00Z\",\"content\":\"C\"}\n", i, i));
+        }
+        Path plain = dir.resolve("articles.jsonl");
+        Files.writeString(plain, lines);
+        Path compressed = dir.resolve("articles.jsonl.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(compressed))) {
+            Files.copy(plain, out);
+        }
+        NewsJsonParser expected = new NewsJsonParser(logger);
+        assertTrue(MappedNewsForParse.fromFile(plain.toFile(), NewsFormat.JSON_LINES, logger).accept(expected));
+
+        NewsForParse news = NewsForParse.fromFile(compressed.toFile(), NewsFormat.JSON_LINES, logger);
+        assertTrue(news instanceof StreamNewsForParse, "Compressed files should be streamed");
+        NewsJsonParser parser = new NewsJsonParser(logger);
+        assertTrue(news.accept(parser));
+        assertEquals(1000, parser.getArticles().size());
+        assertEquals(expected.getArticles(), parser.getArticles());
+        assertEquals(1, parser.getArticleErrors().size());
+        assertEquals(700, parser.getArticleErrors().get(0).getIndex());
+        assertEquals(lines.indexOf("{\"title\": [broken"), parser.getArticleErrors().get(0).getByteOffset());
+
+        byte[] gzip = Files.readAllBytes(compressed);
+        Path truncated = dir.resolve("truncated.jsonl.gz");
+        Files.write(truncated, Arrays.copyOf(gzip, gzip.length / 2));
+        NewsJsonParser failed = new NewsJsonParser(logger);
+        assertFalse(NewsForParse.fromFile(truncated.toFile(), NewsFormat.JSON_LINES, logger).accept(failed));
+        assertTrue(failed.getArticles().isEmpty());
+        assertNull(NewsForParse.fromFile(truncated.toFile(), NewsFormat.JSON_LINES, logger).getContent(),
+                "A truncated stream should be logged and read as null");
+    }
+
+    // Tests that gzip-compressed files are detected and inflated on the fly into the parser, through
+    // NewsForParse.fromFile, getStringFromFile and batch ingestion, with the same result as the plain file.
+    @Test
+    public void testGzipCompressedFiles(@TempDir Path dir) throws IOException {
+        File plain = new File("inputs/example.json");
+        Path compressed = dir.resolve("example.json.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(compressed))) {
+            Files.copy(plain.toPath(), out);
+        }
+        NewsJsonParser expected = new NewsJsonParser(logger);
+        new NewsForParse(NewsSource.FILE, NewsFormat.NEWS_API, NewsForParse.getStringFromFile(plain, logger)).accept(expected);
+
+        NewsForParse news = NewsForParse.fromFile(compressed.toFile(), NewsFormat.NEWS_API, logger);
+        assertTrue(news instanceof StreamNewsForParse, "Compressed files should be streamed");
+        NewsJsonParser parser = new NewsJsonParser(logger);
+        assertTrue(news.accept(parser));
+        assertEquals(expected.getArticles(), parser.getArticles());
+        assertEquals(expected.getTotalResults(), parser.getTotalResults());
+
+        assertTrue(NewsForParse.fromFile(plain, NewsFormat.NEWS_API, logger) instanceof MappedNewsForParse);
+        assertEquals(NewsForParse.getStringFromFile(plain, logger), NewsForParse.getStringFromFile(compressed.toFile(), logger));
+
+        BatchResult batch = new BatchIngester(logger, 2).ingestDirectory(dir.toFile(), "*.gz", NewsFormat.NEWS_API);
+        assertEquals(1, batch.getSucceeded());
+        assertEquals(expected.getArticles(), batch.getArticles());
+
+        byte[] large = new byte[3_000_000];
+        new Random(7).nextBytes(large);
+        Path largeFile = dir.resolve("large.gz");
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(largeFile))) {
+            out.write(large);
+        }
+        try (InputStream in = new InflatingInputStream(new BufferedInputStream(Files.newInputStream(largeFile)))) {
+            assertArrayEquals(large, in.readAllBytes(), "Inflated blocks should reassemble the original bytes");
+        }
+    }
+
+    // Tests that a truncated gzip stream keeps failing on every read after the first failure instead of reporting
+    // the end of the data, and that dropping a stream without closing it stops the inflater and closes the file.
+    @Test
+    public void testInflatingStreamFailureAndAbandonment(@TempDir Path dir) throws Exception {
+        byte[] large = new byte[3_000_000];
+        new Random(11).nextBytes(large);
+        ByteArrayOutputStream gzip = new ByteArrayOutputStream();
+        try (OutputStream out = new GZIPOutputStream(gzip)) {
+            out.write(large);
+        }
+        byte[] truncated = Arrays.copyOf(gzip.toByteArray(), gzip.size() / 2);
+        try (InputStream in = new InflatingInputStream(new ByteArrayInputStream(truncated))) {
+            assertThrows(IOException.class, in::readAllBytes);
+            assertThrows(IOException.class, in::read);
+            assertThrows(IOException.class, () -> in.read(new byte[16], 0, 16));
+        }
+
+        Path file = dir.resolve("abandoned.gz");
+        Files.write(file, gzip.toByteArray());
+        CountDownLatch fileClosed = new CountDownLatch(1);
+        InputStream compressed = new FilterInputStream(Files.newInputStream(file)) {
+            @Override
+            public void close() throws IOException {
+                super.close();
+                fileClosed.countDown();
+            }
+        };
+        assertTrue(new InflatingInputStream(compressed).read() >= 0);
+        compressed = null;
+        for (int i = 0; i < 100 && fileClosed.getCount() > 0; i++) {
+            System.gc();
+            fileClosed.await(100, TimeUnit.MILLISECONDS);
+        }
+        assertEquals(0, fileClosed.getCount(), "An abandoned stream should stop inflating and close the file");
+    }
+
+    // Tests that JSON Lines and CSV exports escape quotes, separators, line breaks, control characters and
+    // non-ASCII text correctly, that columnar storage exports the same bytes as list storage, and that a JSON
+    // Lines export spanning many buffer flushes parses back into the articles that were exported.
+    @Test
+    public void testArticleExport(@TempDir Path dir) throws IOException {
+        List<Article> articles = new ArrayList<>();
+        articles.add(new FullArticle(new Source("cnn", "CNN"), "Ann \"A\", Jr.", "Line\nbreak, comma", "Tab\tand \u0001",
+                "https://example.com/1", "2021-03-24T22:32:00Z", "https://example.com/1.jpg", "Caf\u00e9 \u6771\u4eac \ud83d\udcf0 \\ end"));
+        articles.add(new FullArticle(null, null, "No source", "", "https://example.com/2", "2021-03-25T08:00:00Z", null, "C"));
+        articles.add(new Article("Simple, quoted \"title\"", "Description", "2021-03-26T09:15:00Z", "https://example.com/3"));
+        FullArticleStorage listStorage = new FullArticleStorage(articles, articles.size(), "ok");
+        ColumnarArticleStorage columnStorage = new ColumnarArticleStorage(articles.size());
+        columnStorage.addAll(articles);
+
+        String json = "{\"source\":{\"id\":\"cnn\",\"name\":\"CNN\"},\"author\":\"Ann \\\"A\\\", Jr.\",\"title\":\"Line\\nbreak, comma\"," +
+                "\"description\":\"Tab\\tand \\u0001\",\"url\":\"https://example.com/1\",\"urlToImage\":\"https://example.com/1.jpg\"," +
+                "\"publishedAt\":\"2021-03-24T22:32:00Z\",\"content\":\"Caf\u00e9 \u6771\u4eac \ud83d\udcf0 \\\\ end\"}\n" +
+                "{\"source\":null,\"author\":null,\"title\":\"No source\",\"description\":\"\",\"url\":\"https://example.com/2\"," +
+                "\"urlToImage\":null,\"publishedAt\":\"2021-03-25T08:00:00Z\",\"content\":\"C\"}\n" +
+                "{\"title\":\"Simple, quoted \\\"title\\\"\",\"description\":\"Description\",\"url\":\"https://example.com/3\"," +
+                "\"publishedAt\":\"2021-03-26T09:15:00Z\"}\n";
+        String csv = "source_id,source_name,author,title,description,url,url_to_image,published_at,content\r\n" +
+                "cnn,CNN,\"Ann \"\"A\"\", Jr.\",\"Line\nbreak, comma\",Tab\tand \u0001,https://example.com/1,https://example.com/1.jpg," +
+                "2021-03-24T22:32:00Z,Caf\u00e9 \u6771\u4eac \ud83d\udcf0 \\ end\r\n" +
+                ",,,No source,\"\",https://example.com/2,,2021-03-25T08:00:00Z,C\r\n" +
+                ",,,\"Simple, quoted \"\"title\"\"\",Description,https://example.com/3,,2021-03-26T09:15:00Z,\r\n";
+
+        ArticleExporter jsonExporter = new ArticleExporter(ExportFormat.JSON_LINES, logger);
+        ArticleExporter csvExporter = new ArticleExporter(ExportFormat.CSV, logger);
+        for (ArticleStorage storage : List.of(listStorage, columnStorage)) {
+            File jsonFile = dir.resolve("articles.ndjson").toFile();
+            assertEquals(3, jsonExporter.export(storage, false, jsonFile));
+            assertEquals(json, Files.readString(jsonFile.toPath()), "JSON Lines export of " + storage.getClass().getSimpleName());
+            File csvFile = dir.resolve("articles.csv").toFile();
+            assertEquals(3, csvExporter.export(storage, false, csvFile));
+            assertEquals(csv, Files.readString(csvFile.toPath()), "CSV export of " + storage.getClass().getSimpleName());
+            assertEquals(2, csvExporter.export(storage, true, csvFile), "The article without a source is incomplete");
+        }
+
+        List<Article> many = new ArrayList<>();
+        ColumnarArticleStorage manyColumns = new ColumnarArticleStorage(5000);
+        for (int i = 0; i < 5000; i++) {
+            FullArticle article = new FullArticle(new Source("id" + i, "Name \"" + i + "\""), "Author " + i, "Title \u00e9 " + i,
+                    "Description\n" + i, "https://example.com/" + i, "2021-03-24T22:32:00Z", "https://example.com/" + i + ".jpg", "Content " + i);
+            many.add(article);
+            manyColumns.add(article);
+        }
+        File manyFile = dir.resolve("many.ndjson").toFile();
+        assertEquals(5000, jsonExporter.export(manyColumns, false, manyFile));
+        assertTrue(manyFile.length() > 4 << 16, "The export should span several buffer flushes");
+        NewsJsonParser parser = new NewsJsonParser(logger);
+        assertTrue(NewsForParse.fromFile(manyFile, NewsFormat.JSON_LINES, logger).accept(parser));
+        assertEquals(many, parser.getArticles());
+    }
 }
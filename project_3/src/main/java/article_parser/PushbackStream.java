@@ -0,0 +1,78 @@
+package article_parser;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * An InputStream that bytes can be pushed back onto without a size limit. Pushed-back bytes are read before the
+ * rest of the underlying stream, most recently pushed first. It lets a stream be handed to a new parser after a
+ * syntax error: the bytes the failed parser read ahead are pushed back, scanned for the next element, and the
+ * unscanned remainder is pushed back again together with the bytes the new parser should start with.
+ */
+class PushbackStream extends InputStream {
+    private static final byte[] EMPTY = new byte[0];
+
+    private final InputStream in;
+    private byte[] pending = EMPTY;
+    private int position;
+
+    /**
+     * Constructs a PushbackStream with nothing pushed back yet.
+     *
+     * @param in the underlying stream, closed when this stream is closed
+     */
+    PushbackStream(InputStream in) {
+        this.in = in;
+    }
+
+    /**
+     * Pushes bytes back, so that they are read next, ahead of any bytes pushed back earlier and not read yet.
+     *
+     * @param bytes  the array holding the bytes
+     * @param offset the index of the first byte to push back
+     * @param length the number of bytes to push back
+     */
+    void unread(byte[] bytes, int offset, int length) {
+        int remaining = pending.length - position;
+        byte[] joined = new byte[length + remaining];
+        System.arraycopy(bytes, offset, joined, 0, length);
+        System.arraycopy(pending, position, joined, length, remaining);
+        pending = joined;
+        position = 0;
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (position < pending.length) {
+            return pending[position++] & 0xFF;
+        }
+        return in.read();
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (position < pending.length) {
+            int n = Math.min(len, pending.length - position);
+            System.arraycopy(pending, position, b, off, n);
+            position += n;
+            if (position == pending.length) {
+                pending = EMPTY;
+                position = 0;
+            }
+            return n;
+        }
+        return in.read(b, off, len);
+    }
+
+    @Override
+    public int available() throws IOException {
+        return pending.length - position + in.available();
+    }
+
+    @Override
+    public void close() throws IOException {
+        pending = EMPTY;
+        position = 0;
+        in.close();
+    }
+}
@@ -4,7 +4,6 @@ import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -49,7 +48,7 @@ class SimpleArticleStorage implements ArticleStorage {
             return single;
         }
         logger.log(Level.WARNING, "Removed 1 article due to incomplete fields.");
-        return Collections.emptyList();
+        return new ArrayList<>();
     }
 
 }
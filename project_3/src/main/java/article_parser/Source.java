@@ -6,8 +6,10 @@ import com.fasterxml.jackson.annotation.JsonProperty;
 import java.util.Objects;
 
 public class Source{
+    private static final InternPool<Source> POOL = new InternPool<>(4096);
     private final String id;
     private final String name;
+    private int hash;
 
     @Override
     public String toString() {
@@ -17,12 +19,24 @@ public class Source{
                 '}';
     }
 
-    @JsonCreator
-    public Source(@JsonProperty("id") String id, @JsonProperty("name") String name){
+    public Source(String id, String name){
         this.id = id;
         this.name = name;
     }
 
+    /**
+     * Returns the canonical Source for an id and name. Used while deserializing, so that the many articles
+     * sharing a source also share one Source instance and its strings.
+     *
+     * @param id   the id of the source
+     * @param name the name of the source
+     * @return the pooled Source equal to the given id and name
+     */
+    @JsonCreator
+    static Source intern(@JsonProperty("id") String id, @JsonProperty("name") String name){
+        return POOL.intern(new Source(InternPool.STRINGS.intern(id), InternPool.STRINGS.intern(name)));
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -32,7 +46,12 @@ public class Source{
 
     @Override
     public int hashCode() {
-        return Objects.hash(id, name);
+        int h = hash;
+        if (h == 0) {
+            h = Objects.hash(id, name);
+            hash = h;
+        }
+        return h;
     }
 
     public String getId() {
@@ -0,0 +1,78 @@
+package article_parser;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A variant of NewsForParse whose content is read from an InputStream, such as the body of an HTTP response.
+ * The stream is handed to the parser as it is, so articles are decoded while the remaining bytes are still
+ * arriving and the content is never held as a whole. The stream can only be consumed once.
+ */
+public class StreamNewsForParse extends NewsForParse {
+    private final InputStream stream;
+    private final Logger logger;
+    private String content;
+
+    /**
+     * Constructs a StreamNewsForParse over a stream of UTF-8 encoded news content.
+     *
+     * @param newsSource The source of the news (e.g., FILE, URL).
+     * @param newsFormat The format of the news content (e.g., JSON, XML).
+     * @param stream     The stream the content is read from; it is closed once parsed.
+     * @param logger     Logger to log any exceptions occurring while reading the stream into a String.
+     */
+    public StreamNewsForParse(NewsSource newsSource, NewsFormat newsFormat, InputStream stream, Logger logger) {
+        super(newsSource, newsFormat, null);
+        this.stream = stream;
+        this.logger = logger;
+    }
+
+    /**
+     * Creates a parser that reads directly from the stream. The parser closes the stream when it is closed.
+     *
+     * @param factory the JsonFactory used to create the parser.
+     * @return a new JsonParser over the stream.
+     * @throws IOException if the parser cannot be created.
+     */
+    @Override
+    protected JsonParser createParser(JsonFactory factory) throws IOException {
+        if (content != null) {
+            return factory.createParser(content);
+        }
+        return factory.createParser(stream);
+    }
+
+    /**
+     * Returns the stream itself, unless getContent has already read it into a String.
+     *
+     * @return the content stream, or null if the content has been read into a String.
+     */
+    @Override
+    InputStream getStream() {
+        return content == null ? stream : null;
+    }
+
+    /**
+     * Reads the rest of the stream into a String. This gives up the benefit of streaming and is only meant for
+     * callers that cannot work from the parser directly; once called, parsing uses the String instead.
+     *
+     * @return The content read from the stream, decoded as UTF-8, or null if the stream could not be read.
+     */
+    @Override
+    public String getContent() {
+        if (content == null) {
+            try (InputStream in = stream) {
+                content = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            } catch (IOException ex) {
+                logger.log(Level.SEVERE, "Exception occurred while trying to read news stream: ", ex);
+            }
+        }
+        return content;
+    }
+}
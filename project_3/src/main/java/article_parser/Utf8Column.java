@@ -0,0 +1,184 @@
+package article_parser;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * An append-only column of nullable strings stored off-heap. Values are kept as UTF-8 bytes in one direct
+ * buffer, with a second direct buffer of end offsets (one int per row) and a third holding a null bitmap
+ * (one bit per row). None of the three is visible to the garbage collector beyond its buffer object.
+ */
+class Utf8Column {
+    // The largest buffer a column allocates, as for the largest array the JVM reliably allows
+    static final int MAX_CAPACITY = Integer.MAX_VALUE - 8;
+    private ByteBuffer data;
+    private ByteBuffer ends;
+    private ByteBuffer nulls;
+    private int rows;
+
+    /**
+     * Constructs a Utf8Column with room for the expected number of rows before it has to grow.
+     *
+     * @param expectedRows  the number of rows expected to be appended
+     * @param expectedBytes the number of UTF-8 bytes expected per row
+     */
+    Utf8Column(int expectedRows, int expectedBytes) {
+        long rowCapacity = Math.max(16, expectedRows);
+        data = ByteBuffer.allocateDirect(initialCapacity(Math.max(64, rowCapacity * expectedBytes)));
+        ends = ByteBuffer.allocateDirect(initialCapacity(rowCapacity * Integer.BYTES));
+        nulls = ByteBuffer.allocateDirect(initialCapacity((rowCapacity + 7) / 8));
+    }
+
+    /**
+     * Computes the capacity a buffer is first allocated with, in long so that large expected sizes do not
+     * overflow, capped at MAX_CAPACITY. Rows beyond a capped capacity are left to grow, which fails clearly if
+     * they do not fit.
+     *
+     * @param expected the expected size of the buffer
+     * @return the capacity to allocate
+     */
+    static int initialCapacity(long expected) {
+        return (int) Math.min(expected, MAX_CAPACITY);
+    }
+
+    /**
+     * Appends a value as a new row.
+     *
+     * @param value the value to append, may be null
+     * @throws IllegalStateException if the value does not fit, because a buffer of the column would have to grow
+     *                               past MAX_CAPACITY; the column is left unchanged
+     */
+    void append(String value) {
+        int start = rows == 0 ? 0 : end(rows - 1);
+        byte[] bytes = value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+        long requiredEnds = (long) (rows + 1) * Integer.BYTES;
+        long requiredData = bytes == null ? start : (long) start + bytes.length;
+        int endsCapacity = requiredEnds > ends.capacity() ? grownCapacity(ends.capacity(), requiredEnds) : ends.capacity();
+        int dataCapacity = requiredData > data.capacity() ? grownCapacity(data.capacity(), requiredData) : data.capacity();
+        if (endsCapacity > ends.capacity()) {
+            ends = grow(ends, endsCapacity);
+            nulls = grow(nulls, endsCapacity / Integer.BYTES / 8 + 1);
+        }
+
+        int end = start;
+        if (bytes == null) {
+            int index = rows >>> 3;
+            nulls.put(index, (byte) (nulls.get(index) | (1 << (rows & 7))));
+        } else {
+            if (dataCapacity > data.capacity()) {
+                data = grow(data, dataCapacity);
+            }
+            data.put(start, bytes);
+            end += bytes.length;
+        }
+        ends.putInt(rows * Integer.BYTES, end);
+        rows++;
+    }
+
+    /**
+     * Drops the rows from the given one on, so that the next append reuses their space.
+     *
+     * @param newRows the number of rows to keep
+     */
+    void truncate(int newRows) {
+        for (int row = newRows; row < rows; row++) {
+            int index = row >>> 3;
+            nulls.put(index, (byte) (nulls.get(index) & ~(1 << (row & 7))));
+        }
+        rows = Math.min(rows, newRows);
+    }
+
+    /**
+     * Computes the capacity a buffer grows to: double its current capacity, or more if required, capped at
+     * MAX_CAPACITY. Computed in long so that buffers past 1 GiB keep doubling instead of overflowing.
+     *
+     * @param current  the current capacity
+     * @param required the capacity needed
+     * @return the new capacity
+     * @throws IllegalStateException if the required capacity exceeds MAX_CAPACITY
+     */
+    static int grownCapacity(int current, long required) {
+        if (required > MAX_CAPACITY) {
+            throw new IllegalStateException(String.format(
+                    "Utf8Column is full: %d bytes required, but a column buffer holds at most %d bytes", required, MAX_CAPACITY));
+        }
+        return (int) Math.min(MAX_CAPACITY, Math.max(2L * current, required));
+    }
+
+    /**
+     * Returns whether the value of a row is null, without decoding it.
+     *
+     * @param row the row index
+     * @return true if the row holds null
+     */
+    boolean isNull(int row) {
+        return (nulls.get(row >>> 3) & (1 << (row & 7))) != 0;
+    }
+
+    /**
+     * Decodes the value of a row.
+     *
+     * @param row the row index
+     * @return the value of the row, or null if it holds null
+     */
+    String get(int row) {
+        if (isNull(row)) return null;
+        int start = start(row);
+        byte[] bytes = new byte[end(row) - start];
+        data.get(start, bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns the offset of the first UTF-8 byte of a row.
+     *
+     * @param row the row index
+     * @return the offset of the row's first byte
+     */
+    int start(int row) {
+        return row == 0 ? 0 : ends.getInt((row - 1) * Integer.BYTES);
+    }
+
+    /**
+     * Returns the offset just past the last UTF-8 byte of a row.
+     *
+     * @param row the row index
+     * @return the offset following the row's last byte
+     */
+    int end(int row) {
+        return ends.getInt(row * Integer.BYTES);
+    }
+
+    /**
+     * Copies UTF-8 data of the column into an array, for reading a row without decoding it.
+     *
+     * @param offset the offset of the first byte to copy, e.g. start(row)
+     * @param dst    the array to copy into, starting at index 0
+     * @param length the number of bytes to copy
+     */
+    void getBytes(int offset, byte[] dst, int length) {
+        data.get(offset, dst, 0, length);
+    }
+
+    /**
+     * Returns the number of off-heap bytes reserved by this column.
+     *
+     * @return the combined capacity of the column's buffers
+     */
+    long reservedBytes() {
+        return (long) data.capacity() + ends.capacity() + nulls.capacity();
+    }
+
+    /**
+     * Copies a direct buffer into a new, larger direct buffer.
+     *
+     * @param buffer   the buffer to grow
+     * @param capacity the capacity of the new buffer
+     * @return the new buffer holding the old buffer's bytes
+     */
+    private static ByteBuffer grow(ByteBuffer buffer, int capacity) {
+        ByteBuffer grown = ByteBuffer.allocateDirect(capacity);
+        grown.put(buffer.duplicate().clear());
+        return grown;
+    }
+}
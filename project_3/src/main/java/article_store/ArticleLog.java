@@ -0,0 +1,416 @@
+package article_store;
+
+import article_parser.Article;
+import article_parser.ArticleCodec;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+
+/**
+ * A durable, append-only log of articles stored in size-rolled segment files. Every article appended is a record
+ * with a sequential offset, starting at zero. A record is an int payload length, the CRC32 of the payload, and the
+ * article encoded by ArticleCodec. A segment is named after the offset of its first record and is rolled once the
+ * next record would take it past the configured segment size.
+ * <p>
+ * Batches are encoded in memory and written to the active segment with one sequential write. Syncing to disk is
+ * batched: with a positive sync interval a background thread forces the active segment at that interval, so
+ * appends never wait for the disk; with a zero interval every append is forced before it returns.
+ * <p>
+ * Opening a log runs a recovery scan that checks every record's length and checksum. A torn write at the end of
+ * a segment is truncated away, along with any segments after it, so the log always ends at its last whole record.
+ * A zero-filled tail, left by a crash after a segment grew but before its data reached the disk, is truncated the
+ * same way: every record holds at least the kind byte ArticleCodec writes, so a zero length never validates.
+ */
+public class ArticleLog implements Closeable {
+    static final String SUFFIX = ".log";
+    private static final int HEADER_BYTES = 2 * Integer.BYTES;
+    private static final ScheduledExecutorService SYNCER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "article-log-sync");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final boolean syncEveryAppend;
+    private final Logger logger;
+    private final TreeMap<Long, Segment> segments;
+    private final RecordBuffer record = new RecordBuffer();
+    private final DataOutputStream recordOut = new DataOutputStream(record);
+    private final RecordBuffer batch = new RecordBuffer();
+    private final DataOutputStream batchOut = new DataOutputStream(batch);
+    private final CRC32 crc = new CRC32();
+    private Segment active;
+    private long nextOffset;
+    private boolean dirty;
+    private boolean closed;
+    private ScheduledFuture<?> syncTask;
+
+    /**
+     * Opens the log in a directory, creating the directory if needed and recovering any segments already in it.
+     *
+     * @param directory    the directory holding the segment files
+     * @param segmentBytes the size at which a segment is rolled, at most 2 GB so that segments can be mapped
+     * @param syncInterval how often written records are forced to disk, or zero to force on every append
+     * @param logger       Logger to log recovery actions and I/O failures
+     * @return the opened log, or null if it could not be opened
+     */
+    public static ArticleLog open(Path directory, long segmentBytes, Duration syncInterval, Logger logger) {
+        if (segmentBytes <= HEADER_BYTES || segmentBytes > Integer.MAX_VALUE || syncInterval.isNegative()) {
+            throw new IllegalArgumentException("segmentBytes must be between the record header size and 2 GB, and syncInterval must not be negative");
+        }
+        try {
+            Files.createDirectories(directory);
+            ArticleLog log = new ArticleLog(directory, segmentBytes, syncInterval.isZero(), logger, recover(directory, logger));
+            if (!syncInterval.isZero()) {
+                long nanos = syncInterval.toNanos();
+                log.syncTask = SYNCER.scheduleWithFixedDelay(log::sync, nanos, nanos, TimeUnit.NANOSECONDS);
+            }
+            return log;
+        } catch (IOException ex) {
+            logger.log(Level.SEVERE, "Exception occurred while opening article log: ", ex);
+        }
+        return null;
+    }
+
+    /**
+     * Constructs an ArticleLog over recovered segments and opens the last one for appending.
+     *
+     * @param directory       the directory holding the segment files
+     * @param segmentBytes    the size at which a segment is rolled
+     * @param syncEveryAppend whether every append is forced to disk before it returns
+     * @param logger          Logger to log I/O failures
+     * @param segments        the recovered segments, keyed by base offset
+     * @throws IOException if the active segment cannot be opened
+     */
+    private ArticleLog(Path directory, long segmentBytes, boolean syncEveryAppend, Logger logger,
+                       TreeMap<Long, Segment> segments) throws IOException {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.syncEveryAppend = syncEveryAppend;
+        this.logger = logger;
+        this.segments = segments;
+        if (segments.isEmpty()) {
+            openSegment(0);
+        } else {
+            active = segments.lastEntry().getValue();
+            active.channel = FileChannel.open(active.path, StandardOpenOption.WRITE);
+            active.channel.position(active.size);
+            nextOffset = active.baseOffset + active.records;
+        }
+    }
+
+    /**
+     * Appends a batch of articles, such as the list returned by NewsJsonParser.getArticles, as consecutive records.
+     *
+     * @param articles the articles to append
+     * @return the offset of the first appended article, or -1 if the batch could not be appended in full; records
+     *         written to segments rolled before the failure stay in the log
+     */
+    public synchronized long append(List<? extends Article> articles) {
+        if (closed) {
+            logger.log(Level.WARNING, "Cannot append to a closed article log.");
+            return -1;
+        }
+        long first = nextOffset;
+        long pending = 0;
+        try {
+            batch.reset();
+            for (Article article : articles) {
+                record.reset();
+                ArticleCodec.write(article, recordOut);
+                if (active.records + pending > 0 && active.size + batch.size() + HEADER_BYTES + record.size() > segmentBytes) {
+                    writeBatch(pending);
+                    pending = 0;
+                    rollSegment();
+                }
+                crc.reset();
+                crc.update(record.array(), 0, record.size());
+                batchOut.writeInt(record.size());
+                batchOut.writeInt((int) crc.getValue());
+                record.writeTo(batchOut);
+                pending++;
+            }
+            writeBatch(pending);
+            if (syncEveryAppend) {
+                active.channel.force(false);
+            } else {
+                dirty = true;
+            }
+            return first;
+        } catch (IOException ex) {
+            logger.log(Level.SEVERE, "Exception occurred while appending to article log: ", ex);
+            discardPartialWrite();
+        }
+        return -1;
+    }
+
+    /**
+     * Reads up to a maximum number of articles starting at an offset. Records are read from the segment files,
+     * so everything appended before the call is visible whether or not it has been synced. A record that cannot be
+     * decoded is logged and ends the read, returning the articles before it.
+     *
+     * @param fromOffset the offset of the first article to read
+     * @param maxRecords the maximum number of articles to read
+     * @return the articles read in offset order, empty if the offset is past the end of the log
+     */
+    public List<Article> read(long fromOffset, int maxRecords) {
+        List<Segment> toRead = new ArrayList<>();
+        synchronized (this) {
+            Map.Entry<Long, Segment> floor = segments.floorEntry(fromOffset);
+            if (floor == null || fromOffset >= nextOffset) return new ArrayList<>();
+            for (Segment segment : segments.tailMap(floor.getKey(), true).values()) {
+                toRead.add(new Segment(segment.baseOffset, segment.path, segment.size, segment.records));
+            }
+        }
+
+        List<Article> articles = new ArrayList<>();
+        for (Segment segment : toRead) {
+            if (articles.size() >= maxRecords) break;
+            try (FileChannel channel = FileChannel.open(segment.path, StandardOpenOption.READ)) {
+                ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, segment.size);
+                for (long offset = segment.baseOffset; offset < segment.baseOffset + segment.records; offset++) {
+                    if (articles.size() >= maxRecords) break;
+                    int length = buffer.getInt();
+                    buffer.getInt();
+                    if (offset < fromOffset) {
+                        buffer.position(buffer.position() + length);
+                        continue;
+                    }
+                    try {
+                        articles.add(ArticleCodec.read(buffer.slice().limit(length)));
+                    } catch (RuntimeException ex) {
+                        logger.log(Level.SEVERE, String.format("Cannot decode article log record %d in %s: ",
+                                offset, segment.path), ex);
+                        return articles;
+                    }
+                    buffer.position(buffer.position() + length);
+                }
+            } catch (IOException ex) {
+                logger.log(Level.SEVERE, "Exception occurred while reading article log: ", ex);
+                break;
+            }
+        }
+        return articles;
+    }
+
+    /**
+     * Returns the offset the next appended article will receive.
+     *
+     * @return the next offset, which is also the number of articles in the log
+     */
+    public synchronized long getNextOffset() {
+        return nextOffset;
+    }
+
+    /**
+     * Forces records written since the last sync to disk. The force happens outside the log's lock, so appends
+     * carry on while the disk catches up.
+     */
+    public void sync() {
+        FileChannel channel;
+        synchronized (this) {
+            if (!dirty || closed) return;
+            dirty = false;
+            channel = active.channel;
+        }
+        try {
+            channel.force(false);
+        } catch (ClosedChannelException ex) {
+            // The segment was rolled, and rolled segments are forced before they are closed
+        } catch (IOException ex) {
+            logger.log(Level.SEVERE, "Exception occurred while syncing article log: ", ex);
+            synchronized (this) {
+                dirty = true;
+            }
+        }
+    }
+
+    /**
+     * Stops background syncing, forces any unsynced records to disk and closes the active segment.
+     *
+     * @throws IOException if the active segment cannot be forced or closed
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) return;
+        closed = true;
+        if (syncTask != null) {
+            syncTask.cancel(false);
+        }
+        try {
+            active.channel.force(false);
+        } finally {
+            active.channel.close();
+        }
+    }
+
+    /**
+     * Writes the encoded records of the current batch to the active segment with one sequential write.
+     *
+     * @param records the number of records in the batch
+     * @throws IOException if the segment cannot be written
+     */
+    private void writeBatch(long records) throws IOException {
+        ByteBuffer buffer = ByteBuffer.wrap(batch.array(), 0, batch.size());
+        while (buffer.hasRemaining()) {
+            active.channel.write(buffer);
+        }
+        active.size += batch.size();
+        active.records += records;
+        nextOffset += records;
+        batch.reset();
+    }
+
+    /**
+     * Forces and closes the active segment and opens a new one starting at the next offset.
+     *
+     * @throws IOException if the old segment cannot be closed or the new one created
+     */
+    private void rollSegment() throws IOException {
+        active.channel.force(false);
+        active.channel.close();
+        openSegment(nextOffset);
+    }
+
+    /**
+     * Creates a new, empty segment and makes it the active one.
+     *
+     * @param baseOffset the offset of the segment's first record
+     * @throws IOException if the segment file cannot be created
+     */
+    private void openSegment(long baseOffset) throws IOException {
+        Segment segment = new Segment(baseOffset, directory.resolve(Segment.fileName(baseOffset)), 0, 0);
+        segment.channel = FileChannel.open(segment.path, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        segments.put(baseOffset, segment);
+        active = segment;
+    }
+
+    /**
+     * Cuts the active segment back to its last whole record after a failed write, so that a partly written batch
+     * is not left in front of the next one.
+     */
+    private void discardPartialWrite() {
+        batch.reset();
+        try {
+            active.channel.truncate(active.size);
+            active.channel.position(active.size);
+        } catch (IOException ex) {
+            logger.log(Level.SEVERE, "Exception occurred while discarding a partial write: ", ex);
+        }
+    }
+
+    /**
+     * Scans the segment files in a directory, verifying every record. The first segment with a torn or corrupt
+     * record is truncated after its last valid record, and the segments after it are deleted, since their
+     * offsets would no longer follow on.
+     *
+     * @param directory the directory holding the segment files
+     * @param logger    Logger to log truncated and deleted segments
+     * @return the valid segments, keyed by base offset
+     * @throws IOException if a segment file cannot be read, truncated or deleted
+     */
+    private static TreeMap<Long, Segment> recover(Path directory, Logger logger) throws IOException {
+        TreeMap<Long, Segment> found = new TreeMap<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                String name = file.getFileName().toString();
+                try {
+                    long base = Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+                    found.put(base, new Segment(base, file, 0, 0));
+                } catch (NumberFormatException ex) {
+                    logger.log(Level.WARNING, "Ignoring file that is not an article log segment: " + file);
+                }
+            }
+        }
+
+        TreeMap<Long, Segment> recovered = new TreeMap<>();
+        long expectedBase = found.isEmpty() ? 0 : found.firstKey();
+        boolean truncated = false;
+        for (Segment segment : found.values()) {
+            if (truncated || segment.baseOffset != expectedBase) {
+                logger.log(Level.WARNING, "Deleting article log segment after a truncated or missing record: " + segment.path);
+                Files.delete(segment.path);
+                truncated = true;
+                continue;
+            }
+            long fileSize = scan(segment);
+            if (segment.size < fileSize) {
+                logger.log(Level.WARNING, String.format("Truncating article log segment %s from %d to %d bytes.",
+                        segment.path, fileSize, segment.size));
+                try (FileChannel channel = FileChannel.open(segment.path, StandardOpenOption.WRITE)) {
+                    channel.truncate(segment.size);
+                    channel.force(true);
+                }
+                truncated = true;
+            }
+            recovered.put(segment.baseOffset, segment);
+            expectedBase = segment.baseOffset + segment.records;
+        }
+        return recovered;
+    }
+
+    /**
+     * Counts the whole, checksum-valid records at the start of a segment file, recording their number and size
+     * in the segment.
+     *
+     * @param segment the segment to scan
+     * @return the size of the segment file, which exceeds the recorded size if the file ends in a bad record
+     * @throws IOException if the file cannot be read
+     */
+    private static long scan(Segment segment) throws IOException {
+        try (FileChannel channel = FileChannel.open(segment.path, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, fileSize);
+            CRC32 crc = new CRC32();
+            while (buffer.remaining() >= HEADER_BYTES) {
+                int length = buffer.getInt();
+                int checksum = buffer.getInt();
+                // A record holds at least the kind byte, so a zero length marks a zero-filled tail, whose empty
+                // payload would otherwise match its zero checksum
+                if (length < 1 || length > buffer.remaining()) break;
+                crc.reset();
+                crc.update(buffer.slice().limit(length));
+                if ((int) crc.getValue() != checksum) break;
+                buffer.position(buffer.position() + length);
+                segment.size = buffer.position();
+                segment.records++;
+            }
+            return fileSize;
+        }
+    }
+
+    /**
+     * A ByteArrayOutputStream whose backing array can be read without copying.
+     */
+    private static final class RecordBuffer extends ByteArrayOutputStream {
+        RecordBuffer() {
+            super(1 << 12);
+        }
+
+        byte[] array() {
+            return buf;
+        }
+    }
+}
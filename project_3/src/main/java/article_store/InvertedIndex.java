@@ -0,0 +1,257 @@
+package article_store;
+
+import article_parser.Article;
+import article_parser.FullArticle;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.function.Consumer;
+
+/**
+ * An in-memory full-text index over article titles, descriptions and, for full articles, content. The index is
+ * built incrementally: each added article becomes a document with the next id, and the terms of its text fields
+ * are appended to per-term Postings, which are compressed with variable-length integers.
+ * <p>
+ * Terms are lower-cased runs of letters and digits. A term's frequency in a document is weighted by field, with
+ * title matches counting more than description matches and description matches more than content matches.
+ * Queries are evaluated a document at a time over the postings of their terms, requiring every term with AND
+ * and any term with OR, and the best k documents are kept in a heap ranked by a tf-idf score. AND queries are
+ * driven by their rarest term: the other postings are only advanced to its candidates, skipping whole blocks,
+ * so a common term costs about as much as the rare one instead of being decoded in full.
+ */
+public class InvertedIndex {
+    private static final int TITLE_WEIGHT = 3;
+    private static final int DESCRIPTION_WEIGHT = 2;
+    private static final int CONTENT_WEIGHT = 1;
+
+    private final List<Article> documents = new ArrayList<>();
+    private final Map<String, Postings> terms = new HashMap<>();
+    private final Map<String, Integer> frequencies = new HashMap<>();
+
+    /**
+     * Adds an article to the index.
+     *
+     * @param article the article to index
+     * @return the document id assigned to the article
+     */
+    public synchronized int add(Article article) {
+        int doc = documents.size();
+        documents.add(article);
+        frequencies.clear();
+        countTerms(article.getTitle(), TITLE_WEIGHT);
+        countTerms(article.getDescription(), DESCRIPTION_WEIGHT);
+        if (article instanceof FullArticle full) {
+            countTerms(full.getContent(), CONTENT_WEIGHT);
+        }
+        for (Map.Entry<String, Integer> entry : frequencies.entrySet()) {
+            terms.computeIfAbsent(entry.getKey(), term -> new Postings()).add(doc, entry.getValue());
+        }
+        return doc;
+    }
+
+    /**
+     * Adds a batch of articles, such as the list returned by NewsJsonParser.getArticles, to the index.
+     *
+     * @param articles the articles to index
+     */
+    public synchronized void addAll(List<? extends Article> articles) {
+        for (Article article : articles) {
+            add(article);
+        }
+    }
+
+    /**
+     * Finds the articles best matching a query.
+     *
+     * @param query    the query text, tokenized the same way as article text
+     * @param operator AND to require every query term, OR to require any of them
+     * @param k        the maximum number of articles to return
+     * @return up to k matching articles, best match first, with ties in the order the articles were added
+     */
+    public synchronized List<Article> search(String query, QueryOperator operator, int k) {
+        List<Postings.Cursor> cursors = new ArrayList<>();
+        List<Double> idfs = new ArrayList<>();
+        for (String term : tokenize(query)) {
+            Postings postings = terms.get(term);
+            if (postings == null) {
+                if (operator == QueryOperator.AND) return new ArrayList<>();
+                continue;
+            }
+            Postings.Cursor cursor = postings.cursor();
+            cursor.next();
+            cursors.add(cursor);
+            idfs.add(Math.log(1 + (double) documents.size() / postings.documents()));
+        }
+        if (cursors.isEmpty() || k <= 0) return new ArrayList<>();
+
+        PriorityQueue<Hit> best = new PriorityQueue<>(k + 1);
+        if (operator == QueryOperator.AND) {
+            intersect(cursors, idfs, best, k);
+        } else {
+            union(cursors, idfs, best, k);
+        }
+
+        List<Hit> hits = new ArrayList<>(best);
+        Collections.sort(hits, Collections.reverseOrder());
+        List<Article> results = new ArrayList<>(hits.size());
+        for (Hit hit : hits) {
+            results.add(documents.get(hit.doc));
+        }
+        return results;
+    }
+
+    /**
+     * Scores the documents containing every query term. The cursor of the rarest term proposes each candidate and
+     * the others advance to it; a cursor that overshoots moves the rarest one forward to its document instead.
+     *
+     * @param cursors the cursors of the query terms, in query order, each on its first document
+     * @param idfs    the inverse document frequency of each term
+     * @param best    the heap of the best hits so far
+     * @param k       the number of hits to keep
+     */
+    private static void intersect(List<Postings.Cursor> cursors, List<Double> idfs, PriorityQueue<Hit> best, int k) {
+        List<Postings.Cursor> byRarity = new ArrayList<>(cursors);
+        byRarity.sort(Comparator.comparingInt(Postings.Cursor::documents));
+        Postings.Cursor lead = byRarity.get(0);
+        int doc = lead.doc;
+        candidates:
+        while (doc != Integer.MAX_VALUE) {
+            for (int i = 1; i < byRarity.size(); i++) {
+                Postings.Cursor cursor = byRarity.get(i);
+                cursor.advance(doc);
+                if (cursor.doc > doc) {
+                    lead.advance(cursor.doc);
+                    doc = lead.doc;
+                    continue candidates;
+                }
+            }
+            // Sum in query order so scores, and therefore ties, do not depend on term rarity
+            double score = 0;
+            for (int i = 0; i < cursors.size(); i++) {
+                score += (1 + Math.log(cursors.get(i).frequency)) * idfs.get(i);
+            }
+            addHit(best, new Hit(doc, score), k);
+            lead.next();
+            doc = lead.doc;
+        }
+    }
+
+    /**
+     * Scores the documents containing any query term, walking all postings in step.
+     *
+     * @param cursors the cursors of the query terms, in query order, each on its first document
+     * @param idfs    the inverse document frequency of each term
+     * @param best    the heap of the best hits so far
+     * @param k       the number of hits to keep
+     */
+    private static void union(List<Postings.Cursor> cursors, List<Double> idfs, PriorityQueue<Hit> best, int k) {
+        while (true) {
+            int doc = Integer.MAX_VALUE;
+            for (Postings.Cursor cursor : cursors) {
+                doc = Math.min(doc, cursor.doc);
+            }
+            if (doc == Integer.MAX_VALUE) return;
+
+            double score = 0;
+            for (int i = 0; i < cursors.size(); i++) {
+                Postings.Cursor cursor = cursors.get(i);
+                if (cursor.doc == doc) {
+                    score += (1 + Math.log(cursor.frequency)) * idfs.get(i);
+                    cursor.next();
+                }
+            }
+            addHit(best, new Hit(doc, score), k);
+        }
+    }
+
+    /**
+     * Adds a hit to the heap, dropping the weakest hit if the heap then holds more than k.
+     *
+     * @param best the heap of the best hits so far
+     * @param hit  the new hit
+     * @param k    the number of hits to keep
+     */
+    private static void addHit(PriorityQueue<Hit> best, Hit hit, int k) {
+        best.add(hit);
+        if (best.size() > k) best.poll();
+    }
+
+    /**
+     * Returns the number of indexed articles.
+     *
+     * @return the number of documents in the index
+     */
+    public synchronized int size() {
+        return documents.size();
+    }
+
+    /**
+     * Splits text into lower-cased terms made of letters and digits, without duplicates.
+     *
+     * @param text the text to split, may be null
+     * @return the distinct terms in the order they first appear
+     */
+    static Set<String> tokenize(String text) {
+        Set<String> tokens = new LinkedHashSet<>();
+        forEachTerm(text, tokens::add);
+        return tokens;
+    }
+
+    /**
+     * Adds the weighted frequencies of the terms in a field to the current document's counts.
+     *
+     * @param text   the field text, may be null
+     * @param weight the weight of one occurrence in this field
+     */
+    private void countTerms(String text, int weight) {
+        forEachTerm(text, term -> frequencies.merge(term, weight, Integer::sum));
+    }
+
+    /**
+     * Passes each lower-cased run of letters and digits in a text to a consumer.
+     *
+     * @param text     the text to split, may be null
+     * @param consumer the consumer of the terms
+     */
+    private static void forEachTerm(String text, Consumer<String> consumer) {
+        if (text == null) return;
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean termChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (termChar && start < 0) {
+                start = i;
+            } else if (!termChar && start >= 0) {
+                consumer.accept(text.substring(start, i).toLowerCase(Locale.ROOT));
+                start = -1;
+            }
+        }
+    }
+
+    /**
+     * A scored document. Hits order by score, and by earlier document on equal scores, so the heap head is
+     * always the weakest hit.
+     */
+    private static final class Hit implements Comparable<Hit> {
+        final int doc;
+        final double score;
+
+        Hit(int doc, double score) {
+            this.doc = doc;
+            this.score = score;
+        }
+
+        @Override
+        public int compareTo(Hit other) {
+            int byScore = Double.compare(score, other.score);
+            return byScore != 0 ? byScore : Integer.compare(other.doc, doc);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+package article_store;
+
+import java.util.Arrays;
+
+/**
+ * The postings of one term in an InvertedIndex: the ids of the documents containing the term, each with the term's
+ * weighted frequency in that document. Documents are added in increasing id order and stored as a byte array of
+ * variable-length integers, each entry being the gap from the previous document id followed by the frequency, so
+ * frequent terms with dense postings take little more than two bytes per document.
+ * <p>
+ * Every SKIP_INTERVAL documents a skip entry records the id of the document before the block and the byte position
+ * at which the block starts, so a cursor can advance to a target document by binary search over the skip entries
+ * and decode at most one block, instead of decoding every document before the target.
+ */
+class Postings {
+    static final int SKIP_INTERVAL = 128;
+
+    private byte[] data = new byte[8];
+    private int length;
+    private int lastDoc = -1;
+    private int documents;
+    private int[] skipDocs = new int[0];
+    private int[] skipPositions = new int[0];
+    private int skips;
+
+    /**
+     * Appends a document to the postings.
+     *
+     * @param doc       the document id, greater than every id already added
+     * @param frequency the weighted frequency of the term in the document
+     */
+    void add(int doc, int frequency) {
+        if (length + 10 > data.length) {
+            data = Arrays.copyOf(data, data.length * 2);
+        }
+        if (documents > 0 && documents % SKIP_INTERVAL == 0) {
+            if (skips == skipDocs.length) {
+                skipDocs = Arrays.copyOf(skipDocs, Math.max(4, skips * 2));
+                skipPositions = Arrays.copyOf(skipPositions, skipDocs.length);
+            }
+            skipDocs[skips] = lastDoc;
+            skipPositions[skips] = length;
+            skips++;
+        }
+        writeVarInt(doc - lastDoc);
+        writeVarInt(frequency);
+        lastDoc = doc;
+        documents++;
+    }
+
+    /**
+     * Returns the number of documents containing the term.
+     *
+     * @return the document frequency
+     */
+    int documents() {
+        return documents;
+    }
+
+    /**
+     * Returns a cursor positioned before the first document.
+     *
+     * @return a new cursor over the postings
+     */
+    Cursor cursor() {
+        return new Cursor();
+    }
+
+    private void writeVarInt(int value) {
+        while ((value & ~0x7F) != 0) {
+            data[length++] = (byte) ((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        data[length++] = (byte) value;
+    }
+
+    /**
+     * Decodes the postings one document at a time.
+     */
+    class Cursor {
+        private int position;
+        private int skip;
+        int doc = -1;
+        int frequency;
+
+        /**
+         * Returns the number of documents in the postings this cursor reads.
+         *
+         * @return the document frequency of the term
+         */
+        int documents() {
+            return documents;
+        }
+
+        /**
+         * Moves to the first document at or after a target, jumping over whole blocks through the skip entries.
+         * Does nothing if the cursor is already at or past the target.
+         *
+         * @param target the document id to advance to
+         * @return false if there is no such document
+         */
+        boolean advance(int target) {
+            if (doc >= target) return doc != Integer.MAX_VALUE;
+            // Find the last block whose preceding document is before the target; every earlier document is too
+            int low = skip;
+            int high = skips - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                if (skipDocs[mid] < target) {
+                    low = mid + 1;
+                } else {
+                    high = mid - 1;
+                }
+            }
+            if (high >= skip && skipPositions[high] > position) {
+                position = skipPositions[high];
+                doc = skipDocs[high];
+                skip = high + 1;
+            }
+            while (doc < target) {
+                if (!next()) return false;
+            }
+            return true;
+        }
+
+        /**
+         * Moves to the next document.
+         *
+         * @return false if there are no more documents
+         */
+        boolean next() {
+            if (position >= length) {
+                doc = Integer.MAX_VALUE;
+                return false;
+            }
+            doc += readVarInt();
+            frequency = readVarInt();
+            return true;
+        }
+
+        private int readVarInt() {
+            int value = 0;
+            for (int shift = 0; ; shift += 7) {
+                byte b = data[position++];
+                value |= (b & 0x7F) << shift;
+                if (b >= 0) return value;
+            }
+        }
+    }
+}
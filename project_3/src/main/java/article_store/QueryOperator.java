@@ -0,0 +1,6 @@
+package article_store;
+
+public enum QueryOperator {
+    AND,
+    OR
+}
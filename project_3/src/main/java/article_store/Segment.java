@@ -0,0 +1,41 @@
+package article_store;
+
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+
+/**
+ * One segment file of an ArticleLog. A segment holds the records from its base offset up to, but not including,
+ * the base offset of the next segment. Only the active segment keeps an open channel.
+ */
+class Segment {
+    final long baseOffset;
+    final Path path;
+    FileChannel channel;
+    long size;
+    long records;
+
+    /**
+     * Constructs a Segment.
+     *
+     * @param baseOffset the offset of the segment's first record
+     * @param path       the segment file
+     * @param size       the number of valid bytes in the file
+     * @param records    the number of records in the file
+     */
+    Segment(long baseOffset, Path path, long size, long records) {
+        this.baseOffset = baseOffset;
+        this.path = path;
+        this.size = size;
+        this.records = records;
+    }
+
+    /**
+     * Returns the segment file name for a base offset, zero-padded so that names sort in offset order.
+     *
+     * @param baseOffset the offset of the segment's first record
+     * @return the file name of the segment
+     */
+    static String fileName(long baseOffset) {
+        return String.format("%020d%s", baseOffset, ArticleLog.SUFFIX);
+    }
+}
@@ -0,0 +1,293 @@
+package article_store;
+
+import article_parser.Article;
+import article_parser.FullArticle;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.logging.FileHandler;
+import java.util.logging.Logger;
+import java.util.logging.SimpleFormatter;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StoreTestSuite {
+    private static final Logger logger = Logger.getLogger(StoreTestSuite.class.getName());
+
+    @BeforeEach
+    public void setupLogger() {
+        try {
+            FileHandler fileHandler = new FileHandler("store-test-suite-log.log", true); // Append mode
+            fileHandler.setFormatter(new SimpleFormatter());
+            logger.addHandler(fileHandler);
+
+            logger.setUseParentHandlers(false);
+
+        } catch (SecurityException | IOException e) {
+            logger.severe("Failed to setup logger handler: " + e.getMessage());
+        }
+    }
+
+    // Tests that appended batches get consecutive offsets, roll over into several segments,
+    // and can be read back from any offset after the log is reopened.
+    @Test
+    public void testAppendRollAndRead(@TempDir Path dir) throws IOException {
+        List<Article> articles = createArticles(50);
+        ArticleLog log = ArticleLog.open(dir, 1024, Duration.ofMillis(10), logger);
+        assertNotNull(log);
+        assertEquals(0, log.append(articles.subList(0, 20)));
+        assertEquals(20, log.append(articles.subList(20, 50)));
+        assertEquals(articles.subList(45, 50), log.read(45, 100));
+        log.close();
+
+        assertTrue(listSegments(dir).size() > 1, "Segments should have rolled");
+        ArticleLog reopened = ArticleLog.open(dir, 1024, Duration.ZERO, logger);
+        assertEquals(50, reopened.getNextOffset());
+        assertEquals(articles, reopened.read(0, 100));
+        assertEquals(articles.subList(17, 27), reopened.read(17, 10));
+        assertTrue(reopened.read(50, 10).isEmpty());
+        assertEquals(50, reopened.append(articles.subList(0, 1)));
+        reopened.close();
+    }
+
+    // Tests that the recovery scan truncates a torn record at the end of the log and that
+    // appends continue from the last whole record.
+    @Test
+    public void testRecoveryTruncatesTornWrite(@TempDir Path dir) throws IOException {
+        List<Article> articles = createArticles(10);
+        ArticleLog log = ArticleLog.open(dir, 1 << 20, Duration.ZERO, logger);
+        log.append(articles);
+        log.close();
+
+        Path segment = listSegments(dir).get(0);
+        long size = Files.size(segment);
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.truncate(size - 5);
+        }
+
+        ArticleLog recovered = ArticleLog.open(dir, 1 << 20, Duration.ZERO, logger);
+        assertEquals(9, recovered.getNextOffset(), "The torn last record should be dropped");
+        assertEquals(articles.subList(0, 9), recovered.read(0, 100));
+        assertEquals(9, recovered.append(articles.subList(9, 10)));
+        assertEquals(articles, recovered.read(0, 100));
+        recovered.close();
+    }
+
+    // Tests that a zero-filled segment tail, as left by a crash before the grown file's data was flushed, is
+    // dropped by recovery instead of being read as empty records, and that a record that cannot be decoded ends
+    // a read with the articles before it.
+    @Test
+    public void testRecoveryDropsZeroFilledTail(@TempDir Path dir) throws IOException {
+        List<Article> articles = createArticles(3);
+        ArticleLog log = ArticleLog.open(dir, 1 << 20, Duration.ZERO, logger);
+        log.append(articles.subList(0, 1));
+        log.close();
+
+        Path segment = listSegments(dir).get(0);
+        long size = Files.size(segment);
+        Files.write(segment, new byte[64], StandardOpenOption.APPEND);
+
+        ArticleLog recovered = ArticleLog.open(dir, 1 << 20, Duration.ZERO, logger);
+        assertEquals(1, recovered.getNextOffset(), "The zero padding should not be read as records");
+        assertEquals(size, Files.size(segment), "The zero padding should be truncated away");
+        assertEquals(articles.subList(0, 1), recovered.read(0, 100));
+        assertEquals(1, recovered.append(articles.subList(1, 2)));
+        assertEquals(articles.subList(0, 2), recovered.read(0, 100));
+        recovered.close();
+
+        // Corrupt the payload of the second record while keeping its checksum valid, so only decoding fails
+        byte[] bytes = Files.readAllBytes(segment);
+        int second = (int) size + 8;
+        Arrays.fill(bytes, second, bytes.length, (byte) 0x7F);
+        CRC32 crc = new CRC32();
+        crc.update(bytes, second, bytes.length - second);
+        ByteBuffer.wrap(bytes).putInt((int) size + 4, (int) crc.getValue());
+        Files.write(segment, bytes);
+        ArticleLog corrupted = ArticleLog.open(dir, 1 << 20, Duration.ZERO, logger);
+        assertEquals(2, corrupted.getNextOffset());
+        assertEquals(articles.subList(0, 1), corrupted.read(0, 100), "The read should stop at the undecodable record");
+        corrupted.close();
+    }
+
+    // Tests that both publishedAt shapes parse to the same epoch microseconds as java.time, and that
+    // unreadable values are rejected.
+    @Test
+    public void testParsePublishedAt() {
+        assertEquals(Instant.parse("2021-03-24T22:32:00Z").toEpochMilli() * 1000, TimeIndex.parseEpochMicros("2021-03-24T22:32:00Z"));
+        assertEquals(Instant.parse("2021-04-16T09:53:23.709229Z").toEpochMilli() * 1000 + 229,
+                TimeIndex.parseEpochMicros("2021-04-16 09:53:23.709229"));
+        assertEquals(TimeIndex.parseEpochMicros("2021-03-24T20:32:00Z"), TimeIndex.parseEpochMicros("2021-03-24T22:32:00+02:00"));
+        assertEquals(TimeIndex.INVALID, TimeIndex.parseEpochMicros("2021-02-30T22:32:00Z"));
+        assertEquals(TimeIndex.INVALID, TimeIndex.parseEpochMicros("yesterday"));
+        assertEquals(TimeIndex.INVALID, TimeIndex.parseEpochMicros(null));
+    }
+
+    // Tests that range and latest-N queries return articles in time order regardless of the order
+    // they were added in, and that articles without a readable publishedAt are skipped.
+    @Test
+    public void testTimeIndexQueries() {
+        TimeIndex index = new TimeIndex(logger);
+        Article a = new Article("A", "a", "2021-03-24T21:39:00Z", "https://example.com/a");
+        Article b = new Article("B", "b", "2021-03-24 22:20:12.5", "https://example.com/b");
+        Article c = new Article("C", "c", "2021-03-24T22:32:00Z", "https://example.com/c");
+        Article d = new Article("D", "d", "2021-04-16 09:53:23.709229", "https://example.com/d");
+        assertEquals(2, index.addAll(List.of(c, a, new Article("X", "x", null, "https://example.com/x"))));
+        assertEquals(List.of(c, a), index.latest(5));
+        assertEquals(2, index.addAll(List.of(d, b)));
+
+        assertEquals(List.of(a, b, c, d), index.between(Instant.MIN, Instant.MAX));
+        assertEquals(List.of(b, c), index.between(Instant.parse("2021-03-24T22:00:00Z"), Instant.parse("2021-04-16T09:53:23.709229Z")));
+        assertTrue(index.between(Instant.parse("2021-05-01T00:00:00Z"), Instant.parse("2021-06-01T00:00:00Z")).isEmpty());
+        assertEquals(List.of(d, c), index.latest(2));
+        assertEquals(4, index.size());
+    }
+
+    // Tests that queries interleaved with single adds and small batches see every article added so far,
+    // in time order with equal times kept in the order they were added, against a sorted reference list.
+    @Test
+    public void testTimeIndexInterleavedAddsAndQueries() {
+        TimeIndex index = new TimeIndex(logger);
+        List<Article> reference = new ArrayList<>();
+        Random random = new Random(7);
+        Instant base = Instant.parse("2021-03-24T00:00:00Z");
+        for (int round = 0; round < 300; round++) {
+            int batch = round % 10 == 0 ? 1 + random.nextInt(50) : 1;
+            List<Article> added = new ArrayList<>();
+            for (int i = 0; i < batch; i++) {
+                String publishedAt = base.plusSeconds(random.nextInt(500)).toString();
+                added.add(new Article("T" + round + "-" + i, "d", publishedAt, "https://example.com/" + round + "/" + i));
+            }
+            assertEquals(batch, index.addAll(added));
+            reference.addAll(added);
+            // A stable sort keeps equal times in the order they were added
+            reference.sort(Comparator.comparing(Article::getPublishedAt));
+
+            Instant from = base.plusSeconds(random.nextInt(500));
+            Instant to = from.plusSeconds(random.nextInt(100));
+            List<Article> expected = new ArrayList<>();
+            for (Article article : reference) {
+                Instant published = Instant.parse(article.getPublishedAt());
+                if (!published.isBefore(from) && published.isBefore(to)) expected.add(article);
+            }
+            assertEquals(expected, index.between(from, to));
+
+            List<Article> newest = new ArrayList<>(reference);
+            Collections.reverse(newest);
+            assertEquals(newest.subList(0, Math.min(5, newest.size())), index.latest(5));
+            assertEquals(reference.size(), index.size());
+        }
+        assertEquals(reference, index.between(Instant.MIN, Instant.MAX));
+    }
+
+    // Tests that AND and OR queries find articles by title, description and content terms,
+    // rank title matches first, and respect the top-k limit.
+    @Test
+    public void testInvertedIndexSearch() {
+        InvertedIndex index = new InvertedIndex();
+        Article vaccine = new Article("Vaccine rollout expands", "States open eligibility", "2021-03-24T22:32:00Z", "https://example.com/1");
+        Article economy = new FullArticle(null, null, "Economy rebounds", "Markets rally on vaccine news", "https://example.com/2",
+                "2021-03-24T22:20:12Z", null, "Stocks rose as the vaccine rollout sped up.");
+        Article weather = new Article("Storms hit the coast", "Rollout of warnings", "2021-03-24T21:44:01Z", "https://example.com/3");
+        index.addAll(List.of(vaccine, economy, weather));
+        for (int i = 0; i < 500; i++) {
+            index.add(new Article("Filler " + i, "Nothing to see", "2021-03-24T21:00:00Z", "https://example.com/filler/" + i));
+        }
+
+        assertEquals(List.of(vaccine, economy), index.search("VACCINE rollout", QueryOperator.AND, 10));
+        assertEquals(List.of(vaccine, economy, weather), index.search("vaccine rollout", QueryOperator.OR, 10));
+        assertEquals(List.of(vaccine), index.search("vaccine, rollout!", QueryOperator.OR, 1));
+        assertEquals(List.of(economy), index.search("stocks", QueryOperator.OR, 10), "Content should be indexed");
+        assertTrue(index.search("vaccine unicorn", QueryOperator.AND, 10).isEmpty());
+        assertEquals(List.of(vaccine, economy), index.search("vaccine unicorn", QueryOperator.OR, 10));
+        assertEquals(500, index.search("filler", QueryOperator.OR, 1000).size());
+        assertEquals(503, index.size());
+    }
+
+    // Tests that a postings cursor advances through its skip entries to the same documents a linear walk reaches,
+    // and that AND queries driven by a rare term over a common one match a brute-force scan.
+    @Test
+    public void testSkippingIntersection() {
+        Postings postings = new Postings();
+        List<Integer> docs = new ArrayList<>();
+        Random random = new Random(11);
+        for (int doc = 0; docs.size() < 10 * Postings.SKIP_INTERVAL + 7; doc += 1 + random.nextInt(5)) {
+            postings.add(doc, 1 + doc % 3);
+            docs.add(doc);
+        }
+        Postings.Cursor cursor = postings.cursor();
+        int target = 0;
+        while (true) {
+            target += random.nextInt(300);
+            int expected = -1;
+            for (int doc : docs) {
+                if (doc >= target) {
+                    expected = doc;
+                    break;
+                }
+            }
+            if (expected < 0) {
+                assertFalse(cursor.advance(target));
+                assertEquals(Integer.MAX_VALUE, cursor.doc);
+                break;
+            }
+            assertTrue(cursor.advance(target));
+            assertEquals(expected, cursor.doc, "Advancing to " + target);
+            assertEquals(1 + expected % 3, cursor.frequency);
+        }
+
+        InvertedIndex index = new InvertedIndex();
+        List<Article> articles = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            String title = "the story " + i + (i % 997 == 0 ? " rare" : "") + (i % 2 == 0 ? " even" : "");
+            Article article = new Article(title, "the", "2021-03-24T22:32:00Z", "https://example.com/" + i);
+            articles.add(article);
+            index.add(article);
+        }
+        List<Article> expected = new ArrayList<>();
+        for (int i = 0; i < articles.size(); i++) {
+            if (i % 997 == 0 && i % 2 == 0) expected.add(articles.get(i));
+        }
+        List<Article> found = index.search("the even rare", QueryOperator.AND, 100);
+        assertEquals(expected.size(), found.size());
+        assertTrue(found.containsAll(expected));
+        assertEquals(index.search("rare even the", QueryOperator.AND, 100), found, "Term order should not change the result");
+        assertEquals(2500, index.search("the even", QueryOperator.AND, 5000).size());
+    }
+
+    private static List<Article> createArticles(int count) {
+        List<Article> articles = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            if (i % 3 == 0) {
+                articles.add(new Article("Title " + i, null, "2021-03-24T22:32:00Z", "https://example.com/" + i));
+            } else {
+                articles.add(new FullArticle(null, "Author " + i, "Title " + i, "Description " + i, "https://example.com/" + i,
+                        "2021-04-16 09:53:23.709229", null, "Content " + i));
+            }
+        }
+        return articles;
+    }
+
+    private static List<Path> listSegments(Path dir) throws IOException {
+        try (Stream<Path> files = Files.list(dir)) {
+            return files.filter(file -> file.toString().endsWith(".log")).sorted().collect(Collectors.toList());
+        }
+    }
+}
@@ -0,0 +1,345 @@
+package article_store;
+
+import article_parser.Article;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * An in-memory index of articles ordered by publication time. Each article's publishedAt string is parsed once,
+ * when the article is added, into microseconds since the epoch. The index keeps those values in sorted runs, each
+ * a sorted long array alongside a parallel array of articles, so range and latest-N queries are a binary search
+ * per run followed by a merge of the matching slices.
+ * <p>
+ * Articles may be added in any order. New articles are collected in a pending batch that the next query sorts
+ * into a new run. Runs are merged LSM-style, a run being merged into the one before it whenever it is at least
+ * half that run's size, so each run is more than twice the size of the next: there are at most log2(n) runs, each
+ * article takes part in O(log n) merges over its lifetime, and a query after a small batch never copies the whole
+ * index.
+ * Articles with equal times keep the order in which they were added.
+ */
+public class TimeIndex {
+    /**
+     * The value parseEpochMicros returns for a publishedAt string it cannot read.
+     */
+    public static final long INVALID = Long.MIN_VALUE;
+    private static final long MICROS_PER_SECOND = 1_000_000L;
+
+    private final Logger logger;
+    // Sorted runs from oldest to newest, each less than half the size of the one before it
+    private final List<Run> runs = new ArrayList<>();
+    private final List<Entry> pending = new ArrayList<>();
+    private int indexed;
+
+    /**
+     * Constructs an empty TimeIndex.
+     *
+     * @param logger Logger to log articles that could not be indexed
+     */
+    public TimeIndex(Logger logger) {
+        this.logger = logger;
+    }
+
+    /**
+     * Adds an article to the index.
+     *
+     * @param article the article to add
+     * @return true if the article was added, false if its publishedAt could not be read
+     */
+    public synchronized boolean add(Article article) {
+        long micros = parseEpochMicros(article.getPublishedAt());
+        if (micros == INVALID) return false;
+        pending.add(new Entry(micros, article));
+        return true;
+    }
+
+    /**
+     * Adds a batch of articles, such as the list returned by NewsJsonParser.getArticles, to the index.
+     * A warning is logged if any articles are skipped because their publishedAt could not be read.
+     *
+     * @param batch the articles to add
+     * @return the number of articles added
+     */
+    public synchronized int addAll(List<? extends Article> batch) {
+        int added = 0;
+        for (Article article : batch) {
+            if (add(article)) added++;
+        }
+        int diff = batch.size() - added;
+        if (diff > 0) {
+            logger.log(Level.WARNING, String.format("Skipped %d article(s) with an unreadable publishedAt.", diff));
+        }
+        return added;
+    }
+
+    /**
+     * Returns the articles published in a time range, oldest first.
+     *
+     * @param from the start of the range, inclusive
+     * @param to   the end of the range, exclusive
+     * @return the articles published at or after from and before to
+     */
+    public synchronized List<Article> between(Instant from, Instant to) {
+        flushPending();
+        long fromMicros = toEpochMicros(from);
+        long toMicros = toEpochMicros(to);
+        int[] next = new int[runs.size()];
+        int[] end = new int[runs.size()];
+        int count = 0;
+        for (int r = 0; r < runs.size(); r++) {
+            next[r] = runs.get(r).lowerBound(fromMicros);
+            end[r] = Math.max(next[r], runs.get(r).lowerBound(toMicros));
+            count += end[r] - next[r];
+        }
+
+        // Merge the slices oldest time first; on equal times the older run, which was added first, wins
+        List<Article> between = new ArrayList<>(count);
+        for (int k = 0; k < count; k++) {
+            int best = -1;
+            for (int r = 0; r < runs.size(); r++) {
+                if (next[r] < end[r] && (best < 0 || runs.get(r).times[next[r]] < runs.get(best).times[next[best]])) {
+                    best = r;
+                }
+            }
+            between.add(runs.get(best).articles[next[best]++]);
+        }
+        return between;
+    }
+
+    /**
+     * Returns the most recently published articles, newest first.
+     *
+     * @param n the maximum number of articles to return
+     * @return up to n articles in descending publication order
+     */
+    public synchronized List<Article> latest(int n) {
+        flushPending();
+        int count = Math.min(Math.max(n, 0), indexed);
+        int[] last = new int[runs.size()];
+        for (int r = 0; r < runs.size(); r++) {
+            last[r] = runs.get(r).times.length - 1;
+        }
+
+        // Walk the runs backwards, newest time first; on equal times the newer run, which was added last, wins
+        List<Article> latest = new ArrayList<>(count);
+        for (int k = 0; k < count; k++) {
+            int best = -1;
+            for (int r = 0; r < runs.size(); r++) {
+                if (last[r] >= 0 && (best < 0 || runs.get(r).times[last[r]] >= runs.get(best).times[last[best]])) {
+                    best = r;
+                }
+            }
+            latest.add(runs.get(best).articles[last[best]--]);
+        }
+        return latest;
+    }
+
+    /**
+     * Returns the number of indexed articles.
+     *
+     * @return the number of articles in the index
+     */
+    public synchronized int size() {
+        return indexed + pending.size();
+    }
+
+    /**
+     * Parses a publishedAt string into microseconds since the epoch. Both the ISO form used by NewsAPI, such as
+     * 2021-03-24T22:32:00Z, and the space-separated form used by the simple format, such as
+     * 2021-04-16 09:53:23.709229, are accepted. Fractions beyond microseconds are truncated, a trailing Z or
+     * +hh:mm/-hh:mm offset is applied, and times without a zone are read as UTC.
+     *
+     * @param publishedAt the string to parse, may be null
+     * @return the time in microseconds since the epoch, or INVALID if the string cannot be read
+     */
+    public static long parseEpochMicros(String publishedAt) {
+        if (publishedAt == null || publishedAt.length() < 19) return INVALID;
+        String s = publishedAt;
+        char separator = s.charAt(10);
+        if (s.charAt(4) != '-' || s.charAt(7) != '-' || (separator != 'T' && separator != ' ') ||
+                s.charAt(13) != ':' || s.charAt(16) != ':') {
+            return INVALID;
+        }
+        int year = digits(s, 0, 4);
+        int month = digits(s, 5, 2);
+        int day = digits(s, 8, 2);
+        int hour = digits(s, 11, 2);
+        int minute = digits(s, 14, 2);
+        int second = digits(s, 17, 2);
+        if (year < 0 || month < 0 || day < 0 || hour < 0 || hour > 23 || minute < 0 || minute > 59 ||
+                second < 0 || second > 59) {
+            return INVALID;
+        }
+
+        int pos = 19;
+        long fraction = 0;
+        if (pos < s.length() && s.charAt(pos) == '.') {
+            int start = ++pos;
+            while (pos < s.length() && Character.isDigit(s.charAt(pos))) {
+                if (pos - start < 6) fraction = fraction * 10 + (s.charAt(pos) - '0');
+                pos++;
+            }
+            if (pos == start) return INVALID;
+            for (int scale = pos - start; scale < 6; scale++) fraction *= 10;
+        }
+
+        int offsetSeconds = 0;
+        if (pos < s.length()) {
+            char zone = s.charAt(pos);
+            if (zone == 'Z') {
+                pos++;
+            } else if ((zone == '+' || zone == '-') && pos + 6 == s.length() && s.charAt(pos + 3) == ':') {
+                int offsetHours = digits(s, pos + 1, 2);
+                int offsetMinutes = digits(s, pos + 4, 2);
+                if (offsetHours < 0 || offsetMinutes < 0) return INVALID;
+                offsetSeconds = (zone == '-' ? -1 : 1) * (offsetHours * 3600 + offsetMinutes * 60);
+                pos += 6;
+            }
+            if (pos != s.length()) return INVALID;
+        }
+
+        try {
+            long epochSecond = LocalDate.of(year, month, day).toEpochDay() * 86_400L +
+                    hour * 3600L + minute * 60L + second - offsetSeconds;
+            return epochSecond * MICROS_PER_SECOND + fraction;
+        } catch (DateTimeException ex) {
+            return INVALID;
+        }
+    }
+
+    /**
+     * Sorts the pending articles into a new run, then merges runs from the newest back while a run is at least
+     * half as large as the one before it.
+     */
+    private void flushPending() {
+        if (pending.isEmpty()) return;
+        Entry[] added = pending.toArray(new Entry[0]);
+        Arrays.sort(added, Comparator.comparingLong(entry -> entry.micros));
+        pending.clear();
+
+        long[] addedTimes = new long[added.length];
+        Article[] addedArticles = new Article[added.length];
+        for (int i = 0; i < added.length; i++) {
+            addedTimes[i] = added[i].micros;
+            addedArticles[i] = added[i].article;
+        }
+        runs.add(new Run(addedTimes, addedArticles));
+        indexed += added.length;
+
+        while (runs.size() > 1 && runs.get(runs.size() - 2).times.length <= 2 * runs.get(runs.size() - 1).times.length) {
+            Run newer = runs.remove(runs.size() - 1);
+            Run older = runs.remove(runs.size() - 1);
+            runs.add(Run.merge(older, newer));
+        }
+    }
+
+    /**
+     * Converts an Instant to microseconds since the epoch, saturating at the long range.
+     *
+     * @param instant the instant to convert
+     * @return the instant in microseconds since the epoch
+     */
+    private static long toEpochMicros(Instant instant) {
+        try {
+            return ChronoUnit.MICROS.between(Instant.EPOCH, instant);
+        } catch (ArithmeticException ex) {
+            return instant.isBefore(Instant.EPOCH) ? Long.MIN_VALUE + 1 : Long.MAX_VALUE;
+        }
+    }
+
+    /**
+     * Parses a run of decimal digits.
+     *
+     * @param s      the string holding the digits
+     * @param start  the index of the first digit
+     * @param length the number of digits
+     * @return the parsed value, or -1 if any character is not a digit
+     */
+    private static int digits(String s, int start, int length) {
+        int value = 0;
+        for (int i = start; i < start + length; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') return -1;
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    /**
+     * A pending article and its parsed publication time.
+     */
+    private static final class Entry {
+        final long micros;
+        final Article article;
+
+        Entry(long micros, Article article) {
+            this.micros = micros;
+            this.article = article;
+        }
+    }
+
+    /**
+     * A sorted run of publication times and the articles published at them.
+     */
+    private static final class Run {
+        final long[] times;
+        final Article[] articles;
+
+        Run(long[] times, Article[] articles) {
+            this.times = times;
+            this.articles = articles;
+        }
+
+        /**
+         * Merges two runs into one, keeping entries of the older run first on equal times.
+         *
+         * @param older the run added first
+         * @param newer the run added later
+         * @return the merged run
+         */
+        static Run merge(Run older, Run newer) {
+            long[] times = new long[older.times.length + newer.times.length];
+            Article[] articles = new Article[times.length];
+            int i = 0;
+            int j = 0;
+            for (int k = 0; k < times.length; k++) {
+                if (j == newer.times.length || (i < older.times.length && older.times[i] <= newer.times[j])) {
+                    times[k] = older.times[i];
+                    articles[k] = older.articles[i++];
+                } else {
+                    times[k] = newer.times[j];
+                    articles[k] = newer.articles[j++];
+                }
+            }
+            return new Run(times, articles);
+        }
+
+        /**
+         * Finds the first position whose time is not before the given time.
+         *
+         * @param micros the time to search for, in microseconds since the epoch
+         * @return the index of the first time at or after micros, or the run length if there is none
+         */
+        int lowerBound(long micros) {
+            int low = 0;
+            int high = times.length;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (times[mid] < micros) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
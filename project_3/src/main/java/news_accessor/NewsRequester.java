@@ -1,18 +1,39 @@
 package news_accessor;
 
+import news_metrics.NewsMetrics;
+
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Semaphore;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
 /**
  * This class is responsible for making HTTP requests to the News API and managing the responses.
+ * All requesters share one HttpClient by default, so connections, TLS sessions and HTTP/2 streams are reused
+ * across queries instead of being rebuilt for every request. Request latencies, status codes, failures and cache
+ * hits are recorded in NewsMetrics.REQUESTER.
  */
 public class NewsRequester {
     private static final String API_KEY = System.getenv("NEWS_API_KEY");
+    private static final String BASE_URL = "https://newsapi.org/v2/";
+    private static final HttpClient SHARED_CLIENT = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_2)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final HttpClient client;
+    private final String baseUrl;
+    private ResponseCache responseCache;
+    private SingleFlight<String, QueryResult> singleFlight;
+    private TokenBucketRateLimiter rateLimiter;
     private boolean success;
     private String result;
     private Logger logger;
@@ -23,7 +44,20 @@ public class NewsRequester {
      * @param logger the Logger object used for logging
      */
     public NewsRequester(Logger logger){
+        this(logger, SHARED_CLIENT, BASE_URL);
+    }
+
+    /**
+     * Constructs a NewsRequester that sends its requests through the given client to the given endpoint.
+     *
+     * @param logger  the Logger object used for logging
+     * @param client  the HttpClient used for every request of this requester
+     * @param baseUrl the URL that query parameters are appended to, e.g. "https://newsapi.org/v2/"
+     */
+    public NewsRequester(Logger logger, HttpClient client, String baseUrl){
         this.logger = logger;
+        this.client = client;
+        this.baseUrl = baseUrl;
         success = false;
     }
 
@@ -34,24 +68,108 @@ public class NewsRequester {
      * @return true if the request was successful, false otherwise
      */
     public Boolean attemptQuery(String params){
-        String url = "https://newsapi.org/v2/" + params + "&apiKey=" + API_KEY;
-
-        HttpClient client = HttpClient.newHttpClient();
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(url))
-                .GET() // GET is default and optional
-                .build();
+        QueryResult queryResult = queryAsync(params).join();
+        if (queryResult.isSuccess()) {
+            result = queryResult.getResponse();
+            success = true;
+        }
+        return success;
+    }
 
+    /**
+     * Queries the News API and returns the response body as a stream, as soon as the response headers arrive.
+     * The body is never buffered as a whole, so a parser reading from the stream decodes it while the rest is still
+     * being received. Because the body is not held, this path neither consults nor fills the response cache, and
+     * streams are never shared between callers; requests are still paced by the rate limiter, if one is set.
+     *
+     * @param params the parameters for the News API request in URL query string format
+     * @return the response body stream, which the caller must close, or null if the request failed or the server
+     *         answered with a status other than 200
+     */
+    public InputStream openQueryStream(String params){
         try {
-            HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
-
-            // Save the response to a file
-            result = response.body();
-            success = true;
+            if (rateLimiter != null) {
+                rateLimiter.acquire();
+            }
+            long start = System.nanoTime();
+            HttpResponse<InputStream> response = client.send(buildRequest(params, null), HttpResponse.BodyHandlers.ofInputStream());
+            NewsMetrics.REQUESTER.recordResponse(response.statusCode(), System.nanoTime() - start);
+            if (response.statusCode() != 200) {
+                logger.log(Level.WARNING, String.format("NewsAPI request returned status %d.", response.statusCode()));
+                response.body().close();
+                return null;
+            }
+            return response.body();
         } catch (IOException | InterruptedException e) {
+            NewsMetrics.REQUESTER.recordFailure();
             logger.log(Level.SEVERE, "Exception occurred while making NewsAPI request: ", e);
         }
-        return success;
+        return null;
+    }
+
+    /**
+     * Queries the News API for every given set of parameters, issuing the requests concurrently.
+     * At most maxConcurrent requests are in flight at any time; the call returns once every query has completed.
+     * A failed query is logged and reported in its result without affecting the others.
+     *
+     * @param paramsList    the parameters of each News API request in URL query string format
+     * @param maxConcurrent the maximum number of requests in flight at the same time
+     * @return one QueryResult per query, in the same order as paramsList
+     */
+    public List<QueryResult> attemptQueries(List<String> paramsList, int maxConcurrent){
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("maxConcurrent must be at least 1, got: " + maxConcurrent);
+        }
+        Semaphore permits = new Semaphore(maxConcurrent);
+        List<CompletableFuture<QueryResult>> pending = new ArrayList<>(paramsList.size());
+        try {
+            for (String params : paramsList) {
+                permits.acquire();
+                pending.add(queryAsync(params).whenComplete((queryResult, ex) -> permits.release()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            logger.log(Level.WARNING, "Interrupted while issuing NewsAPI requests: ", e);
+        }
+
+        List<QueryResult> results = new ArrayList<>(paramsList.size());
+        for (int i = 0; i < paramsList.size(); i++) {
+            results.add(i < pending.size() ? pending.get(i).join() : new QueryResult(paramsList.get(i), false, -1, null));
+        }
+        return results;
+    }
+
+    /**
+     * Sets the on-disk cache consulted before every request. Fresh entries are served without contacting the
+     * server, stale ones are revalidated with If-None-Match / If-Modified-Since, and every 200 response is stored.
+     *
+     * @param responseCache the cache to use, or null to disable caching
+     */
+    public void setResponseCache(ResponseCache responseCache){
+        this.responseCache = responseCache;
+    }
+
+    /**
+     * Sets the coalescing layer shared with other requesters. While a request for some params is in flight,
+     * identical queries made through any requester sharing the layer wait for that request instead of issuing
+     * their own. Queries are keyed by base URL and params, so requesters pointed at different endpoints never
+     * share responses.
+     *
+     * @param singleFlight the coalescing layer to use, or null to disable coalescing
+     */
+    public void setSingleFlight(SingleFlight<String, QueryResult> singleFlight){
+        this.singleFlight = singleFlight;
+    }
+
+    /**
+     * Sets the rate limiter that paces the requests of this requester. Requests beyond the budget are queued
+     * until a permit becomes available rather than being sent and rejected by the server. Sharing one limiter
+     * between requesters paces them against a common budget.
+     *
+     * @param rateLimiter the rate limiter to use, or null to send requests immediately
+     */
+    public void setRateLimiter(TokenBucketRateLimiter rateLimiter){
+        this.rateLimiter = rateLimiter;
     }
 
     /**
@@ -66,4 +184,106 @@ public class NewsRequester {
         return "NewsRequester :: No request has been saved !";
     }
 
+    /**
+     * Issues a single query asynchronously, serving it from the response cache when the cached entry is fresh.
+     * Otherwise the query joins an identical one already in flight, if coalescing is enabled, and waits for a
+     * rate limiter permit before it is sent.
+     *
+     * @param params the parameters for the News API request in URL query string format
+     * @return a future completing with the QueryResult of the request; it never completes exceptionally
+     */
+    private CompletableFuture<QueryResult> queryAsync(String params){
+        ResponseCache.Entry cached = lookupCache(params);
+        if (cached != null && cached.isFresh()) {
+            NewsMetrics.REQUESTER.recordCacheHit();
+            return CompletableFuture.completedFuture(new QueryResult(params, true, 200, cached.getBody(), true));
+        }
+        if (singleFlight != null) {
+            return singleFlight.execute(baseUrl + params, () -> sendAsync(params, cached));
+        }
+        return sendAsync(params, cached);
+    }
+
+    /**
+     * Sends a query once a rate limiter permit is available, recording its latency and status code in
+     * NewsMetrics.REQUESTER.
+     *
+     * @param params the parameters for the News API request in URL query string format
+     * @param cached the cached entry to revalidate, or null if there is none
+     * @return a future completing with the QueryResult of the request; it never completes exceptionally
+     */
+    private CompletableFuture<QueryResult> sendAsync(String params, ResponseCache.Entry cached){
+        CompletableFuture<Void> permit = rateLimiter == null ? CompletableFuture.completedFuture(null) : rateLimiter.acquireAsync();
+        return permit.thenCompose(ignored -> {
+                    long start = System.nanoTime();
+                    return client.sendAsync(buildRequest(params, cached), HttpResponse.BodyHandlers.ofString())
+                            .whenComplete((response, ex) -> {
+                                if (response != null) {
+                                    NewsMetrics.REQUESTER.recordResponse(response.statusCode(), System.nanoTime() - start);
+                                }
+                            });
+                })
+                .handle((response, ex) -> toQueryResult(params, cached, response, ex));
+    }
+
+    /**
+     * Looks up the cached response for a query, if a response cache is configured.
+     *
+     * @param params the parameters for the News API request in URL query string format
+     * @return the cached entry, or null if there is no cache or no entry
+     */
+    private ResponseCache.Entry lookupCache(String params){
+        return responseCache == null ? null : responseCache.lookup(baseUrl, params);
+    }
+
+    /**
+     * Builds the GET request for a set of query parameters, made conditional when a cached entry carries validators.
+     *
+     * @param params the parameters for the News API request in URL query string format
+     * @param cached the cached entry to revalidate, or null if there is none
+     * @return the HttpRequest for the query
+     */
+    private HttpRequest buildRequest(String params, ResponseCache.Entry cached){
+        String url = baseUrl + params + "&apiKey=" + API_KEY;
+        HttpRequest.Builder builder = HttpRequest.newBuilder()
+                .uri(URI.create(url))
+                .GET(); // GET is default and optional
+        if (cached != null && cached.getEtag() != null) {
+            builder.header("If-None-Match", cached.getEtag());
+        }
+        if (cached != null && cached.getLastModified() != null) {
+            builder.header("If-Modified-Since", cached.getLastModified());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Converts the outcome of a request into a QueryResult, logging failures. A 304 answer is served from the
+     * cached entry, which is then marked as fresh again; a 200 answer is stored in the cache.
+     *
+     * @param params   the parameters of the request
+     * @param cached   the cached entry that was revalidated, or null if there is none
+     * @param response the response, or null if the request failed
+     * @param ex       the failure, or null if the request completed
+     * @return the QueryResult for the request
+     */
+    private QueryResult toQueryResult(String params, ResponseCache.Entry cached, HttpResponse<String> response, Throwable ex){
+        if (ex != null) {
+            NewsMetrics.REQUESTER.recordFailure();
+            logger.log(Level.SEVERE, "Exception occurred while making NewsAPI request: ", ex);
+            return new QueryResult(params, false, -1, null);
+        }
+        if (response.statusCode() == 304 && cached != null) {
+            NewsMetrics.REQUESTER.recordRevalidation();
+            responseCache.refresh(baseUrl, params, cached);
+            return new QueryResult(params, true, response.statusCode(), cached.getBody(), true);
+        }
+        if (response.statusCode() == 200 && responseCache != null) {
+            responseCache.store(baseUrl, params, response.body(),
+                    response.headers().firstValue("ETag").orElse(null),
+                    response.headers().firstValue("Last-Modified").orElse(null));
+        }
+        return new QueryResult(params, true, response.statusCode(), response.body());
+    }
+
 }
@@ -0,0 +1,111 @@
+package news_accessor;
+
+import article_parser.ArticleStorage;
+import article_parser.FullArticle;
+import article_parser.FullArticleStorage;
+import article_parser.NewsForParse;
+import article_parser.NewsFormat;
+import article_parser.NewsJsonParser;
+import article_parser.NewsSource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Fetches every page of a News API query. The first page is requested on its own to learn totalResults; the
+ * remaining pages are then requested concurrently through NewsRequester.attemptQueries and merged, in page
+ * order, into a single ArticleStorage.
+ */
+public class PaginatedNewsFetcher {
+    private final NewsRequester requester;
+    private final Logger logger;
+    private final int pageSize;
+    private final int maxConcurrent;
+    private final int maxPages;
+
+    /**
+     * Constructs a PaginatedNewsFetcher.
+     *
+     * @param requester     the requester used to issue the page requests
+     * @param logger        the Logger used to log pages that could not be fetched or parsed
+     * @param pageSize      the number of articles requested per page
+     * @param maxConcurrent the maximum number of page requests in flight at the same time
+     * @param maxPages      the maximum number of pages fetched for a single query
+     */
+    public PaginatedNewsFetcher(NewsRequester requester, Logger logger, int pageSize, int maxConcurrent, int maxPages) {
+        if (pageSize < 1 || maxConcurrent < 1 || maxPages < 1) {
+            throw new IllegalArgumentException("pageSize, maxConcurrent and maxPages must all be at least 1");
+        }
+        this.requester = requester;
+        this.logger = logger;
+        this.pageSize = pageSize;
+        this.maxConcurrent = maxConcurrent;
+        this.maxPages = maxPages;
+    }
+
+    /**
+     * Fetches all pages of a query and merges their articles in page order. Pages after the first that cannot be
+     * fetched or parsed are logged and left out of the result.
+     *
+     * @param params the parameters for the News API request in URL query string format, without page parameters
+     * @return an ArticleStorage holding the articles of every fetched page, or null if the first page failed
+     */
+    public ArticleStorage fetchAll(String params) {
+        NewsJsonParser firstParser = new NewsJsonParser(logger);
+        List<FullArticle> articles = new ArrayList<>();
+        QueryResult first = requester.attemptQueries(List.of(pageParams(params, 1)), 1).get(0);
+        if (!parsePage(first, firstParser, articles)) {
+            return null;
+        }
+
+        Integer totalResults = firstParser.getTotalResults();
+        int pages = totalResults == null ? 1 : Math.min(maxPages, (totalResults + pageSize - 1) / pageSize);
+        List<String> remaining = new ArrayList<>();
+        for (int page = 2; page <= pages; page++) {
+            remaining.add(pageParams(params, page));
+        }
+
+        for (QueryResult result : requester.attemptQueries(remaining, maxConcurrent)) {
+            parsePage(result, new NewsJsonParser(logger), articles);
+        }
+        return new FullArticleStorage(articles, totalResults, firstParser.getStatus());
+    }
+
+    /**
+     * Parses the body of a page and appends its articles. A page is usable when it was answered with 200 or served
+     * from the response cache, including a cached body the API revalidated with 304.
+     *
+     * @param result   the result of the page request
+     * @param parser   the parser used for the page
+     * @param articles the list the page's articles are appended to
+     * @return true if the page was fetched and parsed, false otherwise
+     */
+    private boolean parsePage(QueryResult result, NewsJsonParser parser, List<FullArticle> articles) {
+        if (!result.isSuccess() || (result.getStatusCode() != 200 && !result.isFromCache())) {
+            logger.log(Level.WARNING, String.format("Failed to fetch page '%s' (status %d).", result.getParams(), result.getStatusCode()));
+            return false;
+        }
+        List<FullArticle> page = new ArrayList<>();
+        NewsForParse news = new NewsForParse(NewsSource.URL, NewsFormat.NEWS_API, result.getResponse());
+        if (!parser.streamArticles(news, page::add)) {
+            logger.log(Level.WARNING, String.format("Failed to parse page '%s'.", result.getParams()));
+            return false;
+        }
+        articles.addAll(page);
+        return true;
+    }
+
+    /**
+     * Appends the paging parameters to a query.
+     *
+     * @param params the parameters of the query
+     * @param page   the 1-based page number
+     * @return the parameters of the requested page
+     */
+    private String pageParams(String params, int page) {
+        char separator = params.indexOf('?') < 0 ? '?' : '&';
+        return params + separator + "pageSize=" + pageSize + "&page=" + page;
+    }
+}
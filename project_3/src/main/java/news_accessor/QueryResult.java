@@ -0,0 +1,87 @@
+package news_accessor;
+
+/**
+ * Holds the outcome of a single News API query issued as part of a batch.
+ */
+public class QueryResult {
+    private final String params;
+    private final boolean success;
+    private final int statusCode;
+    private final String response;
+    private final boolean fromCache;
+
+    /**
+     * Constructs a QueryResult for a query of a batch.
+     *
+     * @param params     the query parameters that were requested
+     * @param success    whether a response was received for the query
+     * @param statusCode the HTTP status code of the response, or -1 if no response was received
+     * @param response   the response body, or null if no response was received
+     */
+    QueryResult(String params, boolean success, int statusCode, String response) {
+        this(params, success, statusCode, response, false);
+    }
+
+    /**
+     * Constructs a QueryResult whose body may have been served from the response cache.
+     *
+     * @param params     the query parameters that were requested
+     * @param success    whether a response was received for the query
+     * @param statusCode the HTTP status code of the exchange, or 200 if the server was not contacted
+     * @param response   the response body, or null if no response was received
+     * @param fromCache  whether the body was served from the response cache
+     */
+    QueryResult(String params, boolean success, int statusCode, String response, boolean fromCache) {
+        this.params = params;
+        this.success = success;
+        this.statusCode = statusCode;
+        this.response = response;
+        this.fromCache = fromCache;
+    }
+
+    /**
+     * Returns the query parameters this result belongs to.
+     *
+     * @return the parameters in URL query string format
+     */
+    public String getParams() {
+        return params;
+    }
+
+    /**
+     * Returns whether a response was received for the query.
+     *
+     * @return true if the request completed, false if it failed
+     */
+    public boolean isSuccess() {
+        return success;
+    }
+
+    /**
+     * Returns the HTTP status code of the response.
+     *
+     * @return the status code, or -1 if the request failed
+     */
+    public int getStatusCode() {
+        return statusCode;
+    }
+
+    /**
+     * Returns the body of the response.
+     *
+     * @return the response body, or null if the request failed
+     */
+    public String getResponse() {
+        return response;
+    }
+
+    /**
+     * Returns whether the body was served from the response cache, either because the cached entry was still
+     * fresh or because the server answered a conditional request with 304 Not Modified.
+     *
+     * @return true if the body came from the cache
+     */
+    public boolean isFromCache() {
+        return fromCache;
+    }
+}
@@ -1,5 +1,14 @@
 package news_accessor;
 
+import article_parser.Article;
+import article_parser.ArticleStorage;
+import article_parser.FullArticle;
+import article_parser.FullArticleStorage;
+import article_parser.NewsFormat;
+import article_parser.NewsJsonParser;
+import article_parser.NewsSource;
+import article_parser.StreamNewsForParse;
+import com.sun.net.httpserver.HttpServer;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -7,6 +16,20 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.logging.FileHandler;
 import java.util.logging.Logger;
 import java.util.logging.SimpleFormatter;
@@ -63,4 +86,289 @@ public class RequesterTestSuite {
         assertEquals(requesterMock.getResponse(), "NewsRequester :: No request has been saved !");
     }
 
+    // Tests that a batch of queries is issued against a local stub server with no more requests in flight than
+    // the configured limit, and that every query gets its own result in the order it was given.
+    @Test
+    public void testConcurrentBatchRequests() throws IOException {
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger maxInFlight = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        server.setExecutor(executor);
+        server.createContext("/v2/", exchange -> {
+            maxInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+            try {
+                Thread.sleep(50);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = exchange.getRequestURI().getQuery().getBytes(StandardCharsets.UTF_8);
+            inFlight.decrementAndGet();
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        try {
+            String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/v2/";
+            NewsRequester requester = new NewsRequester(logger, HttpClient.newHttpClient(), baseUrl);
+            List<String> queries = List.of("top-headlines?country=us", "top-headlines?country=gb",
+                    "top-headlines?country=de", "top-headlines?country=fr", "top-headlines?country=jp");
+
+            List<QueryResult> results = requester.attemptQueries(queries, 2);
+
+            assertEquals(queries.size(), results.size());
+            for (int i = 0; i < queries.size(); i++) {
+                QueryResult result = results.get(i);
+                assertEquals(queries.get(i), result.getParams());
+                assertTrue(result.isSuccess());
+                assertEquals(200, result.getStatusCode());
+                assertTrue(result.getResponse().startsWith(queries.get(i).substring("top-headlines?".length())));
+            }
+            assertTrue(maxInFlight.get() <= 2, "Should never exceed the concurrency limit");
+        } finally {
+            server.stop(0);
+            executor.shutdownNow();
+        }
+    }
+
+    // Verifies that a query which cannot reach a server is reported as failed without affecting the batch.
+    @Test
+    public void testBatchRequestFailure() {
+        NewsRequester requester = new NewsRequester(logger, HttpClient.newHttpClient(), "http://127.0.0.1:1/v2/");
+        List<QueryResult> results = requester.attemptQueries(List.of("top-headlines?country=us"), 4);
+
+        assertEquals(1, results.size());
+        assertFalse(results.get(0).isSuccess());
+        assertEquals(-1, results.get(0).getStatusCode());
+        assertNull(results.get(0).getResponse());
+    }
+
+    // Tests the on-disk response cache against a local stub server: a fresh entry is served without a request,
+    // a stale entry is revalidated with If-None-Match and its stored body is served when the server answers 304,
+    // and a requester with another base URL sharing the directory does not see the entry.
+    @Test
+    public void testCachedRequestRevalidation() throws IOException {
+        AtomicInteger requests = new AtomicInteger();
+        AtomicInteger notModified = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v2/", exchange -> {
+            requests.incrementAndGet();
+            if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModified.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            byte[] body = "{\"status\": \"ok\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("ETag", "\"v1\"");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        try {
+            String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/v2/";
+            Path cacheDirectory = Files.createTempDirectory("news-cache");
+
+            NewsRequester stale = new NewsRequester(logger, HttpClient.newHttpClient(), baseUrl);
+            stale.setResponseCache(new ResponseCache(cacheDirectory, Duration.ZERO, logger));
+            assertTrue(stale.attemptQuery("top-headlines?country=us"));
+            assertEquals("{\"status\": \"ok\"}", stale.getResponse());
+            assertTrue(stale.attemptQuery("top-headlines?country=us"));
+            assertEquals("{\"status\": \"ok\"}", stale.getResponse(), "A 304 should be served from disk");
+            assertEquals(2, requests.get());
+            assertEquals(1, notModified.get());
+
+            NewsRequester fresh = new NewsRequester(logger, HttpClient.newHttpClient(), baseUrl);
+            fresh.setResponseCache(new ResponseCache(cacheDirectory, Duration.ofHours(1), logger));
+            List<QueryResult> results = fresh.attemptQueries(List.of("top-headlines?country=us"), 1);
+            assertTrue(results.get(0).isFromCache());
+            assertEquals("{\"status\": \"ok\"}", results.get(0).getResponse());
+            assertEquals(2, requests.get(), "A fresh entry should not reach the server");
+
+            NewsRequester otherEndpoint = new NewsRequester(logger, HttpClient.newHttpClient(), baseUrl + "proxy/");
+            otherEndpoint.setResponseCache(new ResponseCache(cacheDirectory, Duration.ofHours(1), logger));
+            assertFalse(otherEndpoint.attemptQueries(List.of("top-headlines?country=us"), 1).get(0).isFromCache(),
+                    "Entries should not be shared between base URLs");
+            assertEquals(3, requests.get());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    // Tests that a response body streamed from a local stub server is decoded by the parser straight from the
+    // network stream, without the requester ever holding the body as a String, and that an error status yields no stream.
+    @Test
+    public void testStreamedRequestIntoParser() throws IOException {
+        byte[] payload = Files.readAllBytes(Path.of("inputs/short.json"));
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v2/", exchange -> {
+            if (exchange.getRequestURI().getQuery().contains("throttled")) {
+                byte[] error = "{\"status\":\"error\",\"code\":\"rateLimited\"}".getBytes(StandardCharsets.UTF_8);
+                exchange.sendResponseHeaders(429, error.length);
+                try (OutputStream out = exchange.getResponseBody()) {
+                    out.write(error);
+                }
+                return;
+            }
+            exchange.sendResponseHeaders(200, 0); // chunked
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(payload);
+            }
+        });
+        server.start();
+        try {
+            String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/v2/";
+            NewsRequester requester = new NewsRequester(logger, HttpClient.newHttpClient(), baseUrl);
+            InputStream body = requester.openQueryStream("top-headlines?country=us");
+            assertNotNull(body);
+
+            NewsJsonParser parser = new NewsJsonParser(logger);
+            List<FullArticle> streamed = new ArrayList<>();
+            assertTrue(parser.streamArticles(new StreamNewsForParse(NewsSource.URL, NewsFormat.NEWS_API, body, logger), streamed::add));
+            assertEquals(2, streamed.size());
+            assertEquals("ok", parser.getStatus());
+
+            assertNull(requester.openQueryStream("top-headlines?country=us&q=throttled"), "An error response should not be streamed");
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    // Tests that a paginated fetch reads totalResults from the first page, requests the remaining pages from a
+    // local stub server, and merges their articles in page order, also when every page is revalidated with a 304
+    // through a response cache.
+    @Test
+    public void testPaginatedFetch() throws IOException {
+        AtomicInteger notModified = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v2/", exchange -> {
+            String query = exchange.getRequestURI().getQuery();
+            int page = Integer.parseInt(query.replaceAll(".*[?&]?page=(\\d+).*", "$1"));
+            String etag = "\"page" + page + "\"";
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModified.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            StringBuilder json = new StringBuilder("{\"status\": \"ok\", \"totalResults\": 5, \"articles\": [");
+            for (int i = (page - 1) * 2 + 1; i <= Math.min(5, page * 2); i++) {
+                if (i > (page - 1) * 2 + 1) json.append(',');
+                json.append("{\"title\": \"a").append(i).append("\", \"source\": {\"id\": \"cnn\", \"name\": \"CNN\"}}");
+            }
+            byte[] body = json.append("]}").toString().getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("ETag", etag);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        try {
+            String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/v2/";
+            NewsRequester requester = new NewsRequester(logger, HttpClient.newHttpClient(), baseUrl);
+            PaginatedNewsFetcher fetcher = new PaginatedNewsFetcher(requester, logger, 2, 2, 10);
+
+            ArticleStorage storage = fetcher.fetchAll("everything?q=news");
+            assertNotNull(storage);
+            List<Article> articles = storage.getArticles(false, logger);
+            assertEquals(5, articles.size());
+            for (int i = 0; i < articles.size(); i++) {
+                assertEquals("a" + (i + 1), articles.get(i).getTitle());
+            }
+            assertEquals(5, (int) ((FullArticleStorage) storage).getTotalResults());
+
+            NewsRequester cached = new NewsRequester(logger, HttpClient.newHttpClient(), baseUrl);
+            cached.setResponseCache(new ResponseCache(Files.createTempDirectory("paged-cache"), Duration.ZERO, logger));
+            PaginatedNewsFetcher cachedFetcher = new PaginatedNewsFetcher(cached, logger, 2, 2, 10);
+            assertEquals(articles, cachedFetcher.fetchAll("everything?q=news").getArticles(false, logger));
+            ArticleStorage revalidated = cachedFetcher.fetchAll("everything?q=news");
+            assertNotNull(revalidated, "A first page revalidated with a 304 should be used");
+            assertEquals(3, notModified.get());
+            assertEquals(articles, revalidated.getArticles(false, logger), "Revalidated pages should not be dropped");
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    // Tests that identical queries issued concurrently through requesters sharing a coalescing layer
+    // reach the stub server only once and all receive the shared response, while a requester with another
+    // base URL sharing the layer gets its own response.
+    @Test
+    public void testCoalescedRequests() throws Exception {
+        AtomicInteger requests = new AtomicInteger();
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v2/", exchange -> {
+            requests.incrementAndGet();
+            try {
+                Thread.sleep(200);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            String status = exchange.getRequestURI().getPath().contains("/proxy/") ? "proxied" : "ok";
+            byte[] body = ("{\"status\": \"" + status + "\"}").getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/v2/";
+            SingleFlight<String, QueryResult> singleFlight = new SingleFlight<>();
+            NewsRequester requester = new NewsRequester(logger, HttpClient.newHttpClient(), baseUrl);
+            requester.setSingleFlight(singleFlight);
+            NewsRequester proxied = new NewsRequester(logger, HttpClient.newHttpClient(), baseUrl + "proxy/");
+            proxied.setSingleFlight(singleFlight);
+            List<String> queries = List.of("top-headlines?country=us", "top-headlines?country=us", "top-headlines?country=us");
+
+            Future<List<QueryResult>> proxiedResults = executor.submit(() -> proxied.attemptQueries(queries.subList(0, 1), 1));
+            List<QueryResult> results = requester.attemptQueries(queries, queries.size());
+
+            for (QueryResult result : results) {
+                assertEquals("{\"status\": \"ok\"}", result.getResponse());
+            }
+            assertEquals("{\"status\": \"proxied\"}", proxiedResults.get().get(0).getResponse(),
+                    "Another endpoint should not be handed a coalesced response");
+            assertEquals(2, requests.get(), "Identical in-flight queries should share one request per endpoint");
+        } finally {
+            executor.shutdown();
+            server.stop(0);
+        }
+    }
+
+    // Verifies that the token bucket queues requests beyond its burst and releases them at the configured rate
+    // instead of failing them.
+    @Test
+    public void testRateLimitedRequests() throws IOException {
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v2/", exchange -> {
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/v2/";
+            NewsRequester requester = new NewsRequester(logger, HttpClient.newHttpClient(), baseUrl);
+            requester.setRateLimiter(new TokenBucketRateLimiter(10, 1));
+            List<String> queries = List.of("q?page=1", "q?page=2", "q?page=3", "q?page=4", "q?page=5");
+
+            long start = System.nanoTime();
+            List<QueryResult> results = requester.attemptQueries(queries, queries.size());
+            long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+            for (QueryResult result : results) {
+                assertTrue(result.isSuccess());
+            }
+            assertTrue(elapsedMillis >= 350, "Five requests at 10 per second with a burst of 1 take about 400ms");
+        } finally {
+            server.stop(0);
+        }
+    }
+
 }
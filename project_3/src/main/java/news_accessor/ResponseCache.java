@@ -0,0 +1,221 @@
+package news_accessor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Properties;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A persistent cache of News API responses, keyed by endpoint and query parameters and stored as files in a local
+ * directory. Requesters with different base URLs may share a directory without serving each other's responses.
+ * Entries younger than the time-to-live are served without contacting the server. Older entries keep their
+ * ETag and Last-Modified validators so the requester can revalidate them with a conditional request and keep
+ * serving the stored body when the server answers 304 Not Modified.
+ */
+public class ResponseCache {
+    private static final String BODY_SUFFIX = ".body";
+    private static final String META_SUFFIX = ".meta";
+    private final Path directory;
+    private final Duration ttl;
+    private final Clock clock;
+    private final Logger logger;
+
+    /**
+     * Constructs a ResponseCache storing its entries in the given directory, which is created if needed.
+     *
+     * @param directory the directory holding the cached responses
+     * @param ttl       how long an entry is served without revalidation
+     * @param logger    the Logger used to log cache read and write failures
+     */
+    public ResponseCache(Path directory, Duration ttl, Logger logger) {
+        this(directory, ttl, Clock.systemUTC(), logger);
+    }
+
+    /**
+     * Constructs a ResponseCache that reads the current time from the given clock.
+     *
+     * @param directory the directory holding the cached responses
+     * @param ttl       how long an entry is served without revalidation
+     * @param clock     the clock used to timestamp and age entries
+     * @param logger    the Logger used to log cache read and write failures
+     */
+    ResponseCache(Path directory, Duration ttl, Clock clock, Logger logger) {
+        this.directory = directory;
+        this.ttl = ttl;
+        this.clock = clock;
+        this.logger = logger;
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException ex) {
+            logger.log(Level.SEVERE, "Exception occurred while creating cache directory: ", ex);
+        }
+    }
+
+    /**
+     * Looks up the cached response for a query.
+     *
+     * @param baseUrl the base URL the query was sent to
+     * @param params  the query parameters the response was stored under
+     * @return the cached entry, or null if there is none or it cannot be read
+     */
+    Entry lookup(String baseUrl, String params) {
+        String request = baseUrl + params;
+        String key = keyFor(request);
+        Path body = directory.resolve(key + BODY_SUFFIX);
+        Path meta = directory.resolve(key + META_SUFFIX);
+        if (!Files.exists(meta) || !Files.exists(body)) return null;
+
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(meta)) {
+            properties.load(in);
+            if (!request.equals(properties.getProperty("request"))) return null;
+            return new Entry(new String(Files.readAllBytes(body), StandardCharsets.UTF_8),
+                    properties.getProperty("etag"),
+                    properties.getProperty("lastModified"),
+                    Instant.ofEpochMilli(Long.parseLong(properties.getProperty("storedAt"))));
+        } catch (IOException | NumberFormatException ex) {
+            logger.log(Level.WARNING, "Exception occurred while reading cached response: ", ex);
+        }
+        return null;
+    }
+
+    /**
+     * Stores a response for a query, replacing any previous entry.
+     *
+     * @param baseUrl      the base URL the query was sent to
+     * @param params       the query parameters to store the response under
+     * @param body         the response body
+     * @param etag         the ETag header of the response, or null if absent
+     * @param lastModified the Last-Modified header of the response, or null if absent
+     */
+    void store(String baseUrl, String params, String body, String etag, String lastModified) {
+        String request = baseUrl + params;
+        String key = keyFor(request);
+        try {
+            writeAtomically(directory.resolve(key + BODY_SUFFIX), body.getBytes(StandardCharsets.UTF_8));
+            writeMeta(key, request, etag, lastModified);
+        } catch (IOException ex) {
+            logger.log(Level.WARNING, "Exception occurred while caching response: ", ex);
+        }
+    }
+
+    /**
+     * Marks a cached entry as freshly validated, restarting its time-to-live. Used after a 304 Not Modified answer.
+     *
+     * @param baseUrl the base URL the query was sent to
+     * @param params  the query parameters of the entry
+     * @param entry   the entry that was revalidated
+     */
+    void refresh(String baseUrl, String params, Entry entry) {
+        String request = baseUrl + params;
+        try {
+            writeMeta(keyFor(request), request, entry.getEtag(), entry.getLastModified());
+        } catch (IOException ex) {
+            logger.log(Level.WARNING, "Exception occurred while refreshing cached response: ", ex);
+        }
+    }
+
+    /**
+     * Writes the metadata file of an entry, stamped with the current time.
+     *
+     * @param key          the file-name key of the entry
+     * @param request      the base URL and query parameters of the entry
+     * @param etag         the ETag validator, or null if absent
+     * @param lastModified the Last-Modified validator, or null if absent
+     * @throws IOException if the metadata file cannot be written
+     */
+    private void writeMeta(String key, String request, String etag, String lastModified) throws IOException {
+        Properties properties = new Properties();
+        properties.setProperty("request", request);
+        properties.setProperty("storedAt", Long.toString(clock.millis()));
+        if (etag != null) properties.setProperty("etag", etag);
+        if (lastModified != null) properties.setProperty("lastModified", lastModified);
+
+        Path temp = Files.createTempFile(directory, key, ".tmp");
+        try (OutputStream out = Files.newOutputStream(temp)) {
+            properties.store(out, null);
+        }
+        Files.move(temp, directory.resolve(key + META_SUFFIX), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Writes a file through a temporary sibling so that readers never observe a partially written file.
+     *
+     * @param target  the file to write
+     * @param content the bytes to write
+     * @throws IOException if the file cannot be written
+     */
+    private void writeAtomically(Path target, byte[] content) throws IOException {
+        Path temp = Files.createTempFile(directory, target.getFileName().toString(), ".tmp");
+        Files.write(temp, content);
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Derives a file-name safe key from a base URL and query parameters.
+     *
+     * @param request the base URL followed by the query parameters
+     * @return the hex encoded SHA-256 digest of the request
+     */
+    private static String keyFor(String request) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(request.getBytes(StandardCharsets.UTF_8));
+            StringBuilder key = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                key.append(String.format("%02x", b));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 is not available", ex);
+        }
+    }
+
+    /**
+     * A cached response together with the validators needed to revalidate it.
+     */
+    class Entry {
+        private final String body;
+        private final String etag;
+        private final String lastModified;
+        private final Instant storedAt;
+
+        Entry(String body, String etag, String lastModified, Instant storedAt) {
+            this.body = body;
+            this.etag = etag;
+            this.lastModified = lastModified;
+            this.storedAt = storedAt;
+        }
+
+        String getBody() {
+            return body;
+        }
+
+        String getEtag() {
+            return etag;
+        }
+
+        String getLastModified() {
+            return lastModified;
+        }
+
+        /**
+         * Returns whether the entry is still within its time-to-live and can be served without revalidation.
+         *
+         * @return true if the entry is fresh
+         */
+        boolean isFresh() {
+            return storedAt.plus(ttl).isAfter(clock.instant());
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package news_accessor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces concurrent calls for the same key into a single in-flight call. The first caller for a key starts
+ * the call; callers arriving while it is still running receive the same future instead of starting their own.
+ * Once the call completes the key is released, so later callers start a new call.
+ *
+ * @param <K> the type of the keys identifying identical calls
+ * @param <V> the type of the call results
+ */
+public class SingleFlight<K, V> {
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * Runs the call for a key, or joins the call already in flight for it.
+     *
+     * @param key  the key identifying the call
+     * @param call starts the call and returns its future; only invoked if no call for the key is in flight
+     * @return a future completing with the result of the shared call
+     */
+    public CompletableFuture<V> execute(K key, Supplier<CompletableFuture<V>> call) {
+        CompletableFuture<V> shared = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, shared);
+        if (existing != null) {
+            return existing;
+        }
+
+        try {
+            call.get().whenComplete((value, ex) -> {
+                inFlight.remove(key, shared);
+                if (ex != null) {
+                    shared.completeExceptionally(ex);
+                } else {
+                    shared.complete(value);
+                }
+            });
+        } catch (RuntimeException ex) {
+            inFlight.remove(key, shared);
+            shared.completeExceptionally(ex);
+        }
+        return shared;
+    }
+
+    /**
+     * Returns the number of calls currently in flight.
+     *
+     * @return the number of keys with a running call
+     */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+}
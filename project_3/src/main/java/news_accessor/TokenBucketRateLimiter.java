@@ -0,0 +1,81 @@
+package news_accessor;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Paces requests to a budget of permits per second using a token bucket. The bucket refills continuously and
+ * holds at most a configured burst of permits. A request arriving when the bucket is empty is not rejected;
+ * it reserves the next permit and is scheduled for the moment that permit becomes available, so requests are
+ * released in arrival order at the configured rate.
+ */
+public class TokenBucketRateLimiter {
+    private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "news-rate-limiter");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final double permitsPerNano;
+    private final double burst;
+    private double tokens;
+    private long lastRefill;
+
+    /**
+     * Constructs a TokenBucketRateLimiter that starts with a full bucket.
+     *
+     * @param permitsPerSecond the sustained number of requests allowed per second
+     * @param burst            the maximum number of requests that may be released back to back
+     */
+    public TokenBucketRateLimiter(double permitsPerSecond, int burst) {
+        if (permitsPerSecond <= 0 || burst < 1) {
+            throw new IllegalArgumentException("permitsPerSecond must be positive and burst at least 1");
+        }
+        this.permitsPerNano = permitsPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.burst = burst;
+        this.tokens = burst;
+        this.lastRefill = System.nanoTime();
+    }
+
+    /**
+     * Reserves a permit, returning a future that completes once the permit is available.
+     *
+     * @return a future completing when the caller may issue its request
+     */
+    public CompletableFuture<Void> acquireAsync() {
+        long waitNanos = reserve();
+        if (waitNanos == 0) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Void> permit = new CompletableFuture<>();
+        SCHEDULER.schedule(() -> permit.complete(null), waitNanos, TimeUnit.NANOSECONDS);
+        return permit;
+    }
+
+    /**
+     * Reserves a permit and blocks until it is available.
+     *
+     * @throws InterruptedException if the thread is interrupted while waiting
+     */
+    public void acquire() throws InterruptedException {
+        long waitNanos = reserve();
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+    }
+
+    /**
+     * Refills the bucket for the time elapsed since the last call and takes one permit from it. The bucket may go
+     * negative, which records permits already promised to earlier waiters.
+     *
+     * @return how long the caller has to wait for its permit, in nanoseconds
+     */
+    private synchronized long reserve() {
+        long now = System.nanoTime();
+        tokens = Math.min(burst, tokens + (now - lastRefill) * permitsPerNano);
+        lastRefill = now;
+        tokens -= 1;
+        return tokens >= 0 ? 0 : (long) Math.ceil(-tokens / permitsPerNano);
+    }
+}
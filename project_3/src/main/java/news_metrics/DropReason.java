@@ -0,0 +1,7 @@
+package news_metrics;
+
+public enum DropReason {
+    INCOMPLETE,
+    FILTERED,
+    MALFORMED
+}
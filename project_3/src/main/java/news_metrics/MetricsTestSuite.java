@@ -0,0 +1,195 @@
+package news_metrics;
+
+import article_parser.ArticleField;
+import article_parser.ArticleFilter;
+import article_parser.NewsFormat;
+import article_parser.NewsForParse;
+import article_parser.NewsJsonParser;
+import article_parser.NewsSource;
+import com.sun.net.httpserver.HttpServer;
+import news_accessor.NewsRequester;
+import news_accessor.ResponseCache;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.FileHandler;
+import java.util.logging.Logger;
+import java.util.logging.SimpleFormatter;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class MetricsTestSuite {
+    private static final Logger logger = Logger.getLogger(MetricsTestSuite.class.getName());
+
+    @BeforeEach
+    public void setupLogger() {
+        try {
+            FileHandler fileHandler = new FileHandler("metrics-test-suite-log.log", true); // Append mode
+            fileHandler.setFormatter(new SimpleFormatter());
+            logger.addHandler(fileHandler);
+
+            logger.setUseParentHandlers(false);
+
+        } catch (SecurityException | IOException e) {
+            logger.severe("Failed to setup logger handler: " + e.getMessage());
+        }
+    }
+
+    // Tests that the histogram reports percentiles within one bucket of the exact values
+    // and keeps exact counts, means and maxima.
+    @Test
+    public void testLatencyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 10_000; i++) {
+            histogram.record(i);
+        }
+        assertEquals(10_000, histogram.getCount());
+        assertEquals(5000.5, histogram.getMean(), 1e-9);
+        assertEquals(10_000, histogram.getMax());
+        assertTrue(Math.abs(histogram.getPercentile(50) - 5000) <= 5000 / 8, "p50 should be within a bucket of 5000");
+        assertTrue(Math.abs(histogram.getPercentile(99) - 9900) <= 9900 / 8, "p99 should be within a bucket of 9900");
+        assertEquals(10_000, histogram.getPercentile(100));
+        for (long value : new long[]{0, 7, 8, 15, 16, 1000, 123_456_789, Long.MAX_VALUE}) {
+            int bucket = LatencyHistogram.bucket(value);
+            assertTrue(LatencyHistogram.upperBound(bucket) >= value, "Bucket bound should cover " + value);
+            assertTrue(bucket == 0 || LatencyHistogram.upperBound(bucket - 1) < value, "Value " + value + " should be in the lowest covering bucket");
+        }
+    }
+
+    // Tests that parsing a document records it with its size and its decoded and dropped articles,
+    // and that the metrics are readable through JMX once registered.
+    @Test
+    public void testParserMetricsOverJmx() throws Exception {
+        ParserMetrics metrics = NewsMetrics.PARSER;
+        long documents = metrics.getDocumentsParsed();
+        long bytes = metrics.getBytesParsed();
+        long decoded = metrics.getArticlesDecoded();
+        long incomplete = metrics.getArticlesDroppedIncomplete();
+
+        String content = NewsForParse.getStringFromFile(new File("inputs/bad.json"), logger);
+        NewsJsonParser parser = new NewsJsonParser(logger);
+        assertTrue(new NewsForParse(NewsSource.FILE, NewsFormat.NEWS_API, content).accept(parser));
+        int kept = parser.getArticles().size();
+
+        assertEquals(documents + 1, metrics.getDocumentsParsed());
+        assertEquals(bytes + content.trim().length(), metrics.getBytesParsed(), "Input up to the closing brace should be counted");
+        long decodedNow = metrics.getArticlesDecoded() - decoded;
+        assertTrue(decodedNow > kept, "bad.json has incomplete articles");
+        assertEquals(decodedNow - kept, metrics.getArticlesDroppedIncomplete() - incomplete);
+
+        assertTrue(NewsMetrics.register(logger));
+        assertTrue(NewsMetrics.register(logger), "Registering again should be harmless");
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        assertEquals(metrics.getDocumentsParsed(), server.getAttribute(new ObjectName("news_metrics:type=ParserMetrics"), "DocumentsParsed"));
+        assertNotNull(server.getAttribute(new ObjectName("news_metrics:type=RequesterMetrics"), "StatusCodeCounts"));
+    }
+
+    // Tests that SIMPLE documents record articles rejected by the article filter and documents that cannot be
+    // bound as dropped, and that streaming a payload does not count incomplete articles as dropped.
+    @Test
+    public void testParserDropAccounting() {
+        ParserMetrics metrics = NewsMetrics.PARSER;
+        long filtered = metrics.getArticlesDroppedFiltered();
+        long malformed = metrics.getArticlesDroppedMalformed();
+        long incomplete = metrics.getArticlesDroppedIncomplete();
+
+        String simple = NewsForParse.getStringFromFile(new File("inputs/simple.json"), logger);
+        NewsJsonParser rejecting = new NewsJsonParser(logger);
+        rejecting.setArticleFilter(new ArticleFilter(EnumSet.noneOf(ArticleField.class), Set.of("cnn")));
+        assertTrue(new NewsForParse(NewsSource.FILE, NewsFormat.SIMPLE, simple).accept(rejecting));
+        assertTrue(rejecting.getArticles().isEmpty(), "A simple article has no source to match");
+        assertEquals(filtered + 1, metrics.getArticlesDroppedFiltered());
+
+        NewsJsonParser broken = new NewsJsonParser(logger);
+        assertFalse(new NewsForParse(NewsSource.FILE, NewsFormat.SIMPLE, "{\"title\": [1, 2]}").accept(broken));
+        assertEquals(malformed + 1, metrics.getArticlesDroppedMalformed());
+        assertEquals(1, broken.getArticleErrors().size());
+
+        String bad = NewsForParse.getStringFromFile(new File("inputs/bad.json"), logger);
+        assertTrue(new NewsJsonParser(logger).streamArticles(new NewsForParse(NewsSource.FILE, NewsFormat.NEWS_API, bad), article -> { }));
+        assertEquals(incomplete, metrics.getArticlesDroppedIncomplete(), "Streamed articles are not dropped");
+    }
+
+    // Tests that requests through a NewsRequester against a local stub server record their status codes,
+    // latencies, failures, cache hits and 304 revalidations.
+    @Test
+    public void testRequesterMetrics() throws Exception {
+        RequesterMetrics metrics = NewsMetrics.REQUESTER;
+        long requests = metrics.getRequests();
+        long failures = metrics.getFailures();
+        long cacheHits = metrics.getCacheHits();
+        long revalidations = metrics.getRevalidations();
+        Map<String, Long> statusCodes = metrics.getStatusCodeCounts();
+
+        HttpServer server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+        server.createContext("/v2/", exchange -> {
+            if (exchange.getRequestURI().getQuery().contains("q=missing")) {
+                exchange.sendResponseHeaders(404, -1);
+                exchange.close();
+                return;
+            }
+            if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            try {
+                TimeUnit.MILLISECONDS.sleep(20);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            byte[] body = "{\"status\": \"ok\"}".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("ETag", "\"v1\"");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        String baseUrl = "http://127.0.0.1:" + server.getAddress().getPort() + "/v2/";
+        Path cacheDirectory = Files.createTempDirectory("metrics-cache");
+        NewsRequester stale = new NewsRequester(logger, HttpClient.newHttpClient(), baseUrl);
+        stale.setResponseCache(new ResponseCache(cacheDirectory, Duration.ZERO, logger));
+        try {
+            assertTrue(stale.attemptQuery("everything?q=metrics"));
+            assertTrue(stale.attemptQuery("everything?q=metrics"), "A stale entry should be revalidated with a 304");
+            assertTrue(stale.attemptQuery("everything?q=missing"));
+
+            NewsRequester fresh = new NewsRequester(logger, HttpClient.newHttpClient(), baseUrl);
+            fresh.setResponseCache(new ResponseCache(cacheDirectory, Duration.ofHours(1), logger));
+            assertTrue(fresh.attemptQueries(List.of("everything?q=metrics"), 1).get(0).isFromCache());
+        } finally {
+            server.stop(0);
+        }
+        assertFalse(stale.attemptQueries(List.of("everything?q=metrics"), 1).get(0).isSuccess(),
+                "A stopped server should fail the request");
+
+        assertEquals(requests + 4, metrics.getRequests(), "Cache hits should not count as requests");
+        assertEquals(failures + 1, metrics.getFailures());
+        assertEquals(cacheHits + 1, metrics.getCacheHits());
+        assertEquals(revalidations + 1, metrics.getRevalidations());
+        Map<String, Long> statusCodesNow = metrics.getStatusCodeCounts();
+        for (String code : new String[]{"200", "304", "404"}) {
+            assertEquals(statusCodes.getOrDefault(code, 0L) + 1, (long) statusCodesNow.getOrDefault(code, 0L), "One " + code + " should be counted");
+        }
+        assertTrue(metrics.getLatencyMaxMicros() >= 20_000, "The delayed 200 should be in the latency histogram");
+        assertTrue(metrics.getLatencyP50Micros() > 0);
+    }
+}
@@ -0,0 +1,48 @@
+package news_metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Holds the process-wide parser and requester metrics and exposes them as JMX MXBeans under the
+ * "news_metrics" domain. The metrics are always collected; registering them only makes them visible to JMX
+ * clients such as JConsole.
+ */
+public class NewsMetrics {
+    public static final ParserMetrics PARSER = new ParserMetrics();
+    public static final RequesterMetrics REQUESTER = new RequesterMetrics();
+
+    private NewsMetrics() {
+    }
+
+    /**
+     * Registers the metrics with the platform MBean server. Registering more than once has no further effect.
+     *
+     * @param logger Logger to log registration failures
+     * @return true if the metrics are registered, false otherwise
+     */
+    public static boolean register(Logger logger) {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            registerIfAbsent(server, PARSER, new ObjectName("news_metrics:type=ParserMetrics"));
+            registerIfAbsent(server, REQUESTER, new ObjectName("news_metrics:type=RequesterMetrics"));
+            return true;
+        } catch (JMException ex) {
+            logger.log(Level.WARNING, "Exception occurred while registering metrics MBeans: ", ex);
+        }
+        return false;
+    }
+
+    private static void registerIfAbsent(MBeanServer server, Object mbean, ObjectName name) throws JMException {
+        try {
+            server.registerMBean(mbean, name);
+        } catch (InstanceAlreadyExistsException ex) {
+            // Already registered by an earlier call
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package news_metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and a parse-time histogram for news parsing. Every counter is a LongAdder, so parsers on many threads
+ * update them without contending, and reads sum the stripes on demand.
+ */
+public class ParserMetrics implements ParserMetricsMXBean {
+    private final LongAdder documentsParsed = new LongAdder();
+    private final LongAdder documentsFailed = new LongAdder();
+    private final LongAdder bytesParsed = new LongAdder();
+    private final LongAdder articlesDecoded = new LongAdder();
+    private final LongAdder droppedIncomplete = new LongAdder();
+    private final LongAdder droppedFiltered = new LongAdder();
+    private final LongAdder droppedMalformed = new LongAdder();
+    private final LatencyHistogram parseTimes = new LatencyHistogram();
+
+    /**
+     * Records a parsed document.
+     *
+     * @param success     whether the document was parsed successfully
+     * @param elapsedNanos the time spent parsing the document, in nanoseconds
+     */
+    public void recordDocument(boolean success, long elapsedNanos) {
+        (success ? documentsParsed : documentsFailed).increment();
+        parseTimes.record(TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+    }
+
+    /**
+     * Adds to the amount of content parsed. Content read as characters is counted in characters.
+     *
+     * @param bytes the number of bytes parsed
+     */
+    public void addBytesParsed(long bytes) {
+        if (bytes > 0) bytesParsed.add(bytes);
+    }
+
+    /**
+     * Adds to the number of articles decoded.
+     *
+     * @param articles the number of articles decoded
+     */
+    public void addArticlesDecoded(long articles) {
+        if (articles > 0) articlesDecoded.add(articles);
+    }
+
+    /**
+     * Adds to the number of articles dropped for a reason.
+     *
+     * @param reason   why the articles were dropped
+     * @param articles the number of articles dropped
+     */
+    public void addArticlesDropped(DropReason reason, long articles) {
+        if (articles <= 0) return;
+        switch (reason) {
+            case INCOMPLETE:
+                droppedIncomplete.add(articles);
+                break;
+            case FILTERED:
+                droppedFiltered.add(articles);
+                break;
+            case MALFORMED:
+                droppedMalformed.add(articles);
+                break;
+        }
+    }
+
+    @Override
+    public long getDocumentsParsed() {
+        return documentsParsed.sum();
+    }
+
+    @Override
+    public long getDocumentsFailed() {
+        return documentsFailed.sum();
+    }
+
+    @Override
+    public long getBytesParsed() {
+        return bytesParsed.sum();
+    }
+
+    @Override
+    public long getArticlesDecoded() {
+        return articlesDecoded.sum();
+    }
+
+    @Override
+    public long getArticlesDroppedIncomplete() {
+        return droppedIncomplete.sum();
+    }
+
+    @Override
+    public long getArticlesDroppedFiltered() {
+        return droppedFiltered.sum();
+    }
+
+    @Override
+    public long getArticlesDroppedMalformed() {
+        return droppedMalformed.sum();
+    }
+
+    @Override
+    public double getParseTimeMeanMicros() {
+        return parseTimes.getMean();
+    }
+
+    @Override
+    public long getParseTimeP50Micros() {
+        return parseTimes.getPercentile(50);
+    }
+
+    @Override
+    public long getParseTimeP99Micros() {
+        return parseTimes.getPercentile(99);
+    }
+
+    @Override
+    public long getParseTimeMaxMicros() {
+        return parseTimes.getMax();
+    }
+}
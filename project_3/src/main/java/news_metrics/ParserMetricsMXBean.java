@@ -0,0 +1,28 @@
+package news_metrics;
+
+/**
+ * The JMX view of ParserMetrics.
+ */
+public interface ParserMetricsMXBean {
+    long getDocumentsParsed();
+
+    long getDocumentsFailed();
+
+    long getBytesParsed();
+
+    long getArticlesDecoded();
+
+    long getArticlesDroppedIncomplete();
+
+    long getArticlesDroppedFiltered();
+
+    long getArticlesDroppedMalformed();
+
+    double getParseTimeMeanMicros();
+
+    long getParseTimeP50Micros();
+
+    long getParseTimeP99Micros();
+
+    long getParseTimeMaxMicros();
+}
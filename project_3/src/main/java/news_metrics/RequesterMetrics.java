@@ -0,0 +1,106 @@
+package news_metrics;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters, status code counts and a latency histogram for NewsAPI requests. Every counter is a LongAdder, so
+ * concurrent requests update them without contending, and reads sum the stripes on demand.
+ */
+public class RequesterMetrics implements RequesterMetricsMXBean {
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder cacheHits = new LongAdder();
+    private final LongAdder revalidations = new LongAdder();
+    private final ConcurrentHashMap<Integer, LongAdder> statusCodes = new ConcurrentHashMap<>();
+    private final LatencyHistogram latencies = new LatencyHistogram();
+
+    /**
+     * Records a request that received a response.
+     *
+     * @param statusCode   the HTTP status code of the response
+     * @param elapsedNanos the time until the response arrived, in nanoseconds
+     */
+    public void recordResponse(int statusCode, long elapsedNanos) {
+        requests.increment();
+        statusCodes.computeIfAbsent(statusCode, code -> new LongAdder()).increment();
+        latencies.record(TimeUnit.NANOSECONDS.toMicros(elapsedNanos));
+    }
+
+    /**
+     * Records a request that failed without a response.
+     */
+    public void recordFailure() {
+        requests.increment();
+        failures.increment();
+    }
+
+    /**
+     * Records a query served from a fresh cache entry without contacting the API.
+     */
+    public void recordCacheHit() {
+        cacheHits.increment();
+    }
+
+    /**
+     * Records a cached entry that the API confirmed was still current.
+     */
+    public void recordRevalidation() {
+        revalidations.increment();
+    }
+
+    @Override
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    @Override
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    @Override
+    public long getCacheHits() {
+        return cacheHits.sum();
+    }
+
+    @Override
+    public long getRevalidations() {
+        return revalidations.sum();
+    }
+
+    @Override
+    public Map<String, Long> getStatusCodeCounts() {
+        Map<String, Long> counts = new TreeMap<>();
+        statusCodes.forEach((code, count) -> counts.put(String.valueOf(code), count.sum()));
+        return counts;
+    }
+
+    @Override
+    public double getLatencyMeanMicros() {
+        return latencies.getMean();
+    }
+
+    @Override
+    public long getLatencyP50Micros() {
+        return latencies.getPercentile(50);
+    }
+
+    @Override
+    public long getLatencyP99Micros() {
+        return latencies.getPercentile(99);
+    }
+
+    @Override
+    public long getLatencyP999Micros() {
+        return latencies.getPercentile(99.9);
+    }
+
+    @Override
+    public long getLatencyMaxMicros() {
+        return latencies.getMax();
+    }
+}
@@ -0,0 +1,28 @@
+package news_metrics;
+
+import java.util.Map;
+
+/**
+ * The JMX view of RequesterMetrics.
+ */
+public interface RequesterMetricsMXBean {
+    long getRequests();
+
+    long getFailures();
+
+    long getCacheHits();
+
+    long getRevalidations();
+
+    Map<String, Long> getStatusCodeCounts();
+
+    double getLatencyMeanMicros();
+
+    long getLatencyP50Micros();
+
+    long getLatencyP99Micros();
+
+    long getLatencyP999Micros();
+
+    long getLatencyMaxMicros();
+}